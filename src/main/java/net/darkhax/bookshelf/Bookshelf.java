@@ -26,6 +26,8 @@ import net.darkhax.bookshelf.crafting.item.IngredientEnchantmentType;
 import net.darkhax.bookshelf.crafting.item.IngredientModid;
 import net.darkhax.bookshelf.crafting.item.IngredientPotion;
 import net.darkhax.bookshelf.crafting.item.IngredientToolType;
+import net.darkhax.bookshelf.crafting.item.ItemMatchCache;
+import net.darkhax.bookshelf.crafting.item.NamespaceIndex;
 import net.darkhax.bookshelf.crafting.predicate.ItemPredicateIngredient;
 import net.darkhax.bookshelf.crafting.predicate.ItemPredicateModid;
 import net.darkhax.bookshelf.crafting.recipes.ShapedRecipeDamaging;
@@ -36,7 +38,12 @@ import net.darkhax.bookshelf.crafting.recipes.smithing.SmithingRecipeRepairCost;
 import net.darkhax.bookshelf.internal.command.ArgumentTypeHandOutput;
 import net.darkhax.bookshelf.internal.command.CommandHand;
 import net.darkhax.bookshelf.internal.command.CommandLootChest;
+import net.darkhax.bookshelf.internal.command.CommandLootProfile;
+import net.darkhax.bookshelf.internal.command.CommandLootSimulate;
 import net.darkhax.bookshelf.internal.command.CommandTranslate;
+import net.darkhax.bookshelf.lib.StructurePresenceCache;
+import net.darkhax.bookshelf.lib.TagGeneration;
+import net.darkhax.bookshelf.loot.LootProfiler;
 import net.darkhax.bookshelf.loot.condition.CheckBiomeTag;
 import net.darkhax.bookshelf.loot.condition.CheckDimensionId;
 import net.darkhax.bookshelf.loot.condition.CheckEnchantability;
@@ -56,6 +63,7 @@ import net.darkhax.bookshelf.loot.modifier.ModifierConvert;
 import net.darkhax.bookshelf.loot.modifier.ModifierRecipe;
 import net.darkhax.bookshelf.loot.modifier.ModifierSilkTouch;
 import net.darkhax.bookshelf.registry.RegistryHelper;
+import net.darkhax.bookshelf.serialization.SerializerINamedTag;
 import net.minecraft.advancements.criterion.ItemPredicate;
 import net.minecraft.command.CommandSource;
 import net.minecraft.command.Commands;
@@ -67,11 +75,19 @@ import net.minecraft.item.PickaxeItem;
 import net.minecraft.item.ShearsItem;
 import net.minecraft.item.ShovelItem;
 import net.minecraft.item.SwordItem;
+import net.minecraft.loot.ILootSerializer;
 import net.minecraft.loot.LootConditionType;
+import net.minecraft.loot.conditions.ILootCondition;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.server.ServerWorld;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.ToolType;
+import net.minecraftforge.common.loot.GlobalLootModifierSerializer;
 import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.event.RegistryEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 
@@ -113,38 +129,48 @@ public final class Bookshelf {
         // Commands
         MinecraftForge.EVENT_BUS.addListener(this::registerCommands);
         
+        // Tag reloading
+        MinecraftForge.EVENT_BUS.addListener(this::onTagsUpdated);
+        
+        // Item id remapping
+        MinecraftForge.EVENT_BUS.addListener(this::onIdMapping);
+        
+        // Structure caches
+        MinecraftForge.EVENT_BUS.addListener(this::onChunkUnload);
+        MinecraftForge.EVENT_BUS.addListener(this::onWorldUnload);
+        
         // Command arguments
         this.registry.commands.registerCommandArgument("hand", ArgumentTypeHandOutput.class, new ArgumentTypeHandOutput.Serialzier());
         this.registry.commands.registerCommandArgument("mod", ArgumentTypeMod.class, new ArgumentSerializer<>( () -> ArgumentTypeMod.INSTACE));
         this.registry.commands.registerCommandArgument("loot", ArgumentTypeLootTable.class, new ArgumentSerializer<>( () -> ArgumentTypeLootTable.INSTACE));
         
         // Loot Modifier
-        this.registry.lootModifiers.register(ModifierClear.SERIALIZER, "clear");
-        this.registry.lootModifiers.register(ModifierSilkTouch.SERIALIZER, "silk_touch");
-        this.registry.lootModifiers.register(ModifierConvert.SERIALIZER, "convert");
-        this.registry.lootModifiers.register(ModifierRecipe.CRAFTING, "crafting");
-        this.registry.lootModifiers.register(ModifierRecipe.SMELTING, "smelting");
-        this.registry.lootModifiers.register(ModifierRecipe.BLASTING, "blasting");
-        this.registry.lootModifiers.register(ModifierRecipe.SMOKING, "smoking");
-        this.registry.lootModifiers.register(ModifierRecipe.CAMPFIRE, "campfire_cooking");
-        this.registry.lootModifiers.register(ModifierRecipe.STONECUT, "stonecutting");
-        this.registry.lootModifiers.register(ModifierRecipe.SMITHING, "smithing");
-        this.registry.lootModifiers.register(ModifierAddItem.SERIALIZER, "add_item");
+        this.registerModifier(ModifierClear.SERIALIZER, "clear");
+        this.registerModifier(ModifierSilkTouch.SERIALIZER, "silk_touch");
+        this.registerModifier(ModifierConvert.SERIALIZER, "convert");
+        this.registerModifier(ModifierRecipe.CRAFTING, "crafting");
+        this.registerModifier(ModifierRecipe.SMELTING, "smelting");
+        this.registerModifier(ModifierRecipe.BLASTING, "blasting");
+        this.registerModifier(ModifierRecipe.SMOKING, "smoking");
+        this.registerModifier(ModifierRecipe.CAMPFIRE, "campfire_cooking");
+        this.registerModifier(ModifierRecipe.STONECUT, "stonecutting");
+        this.registerModifier(ModifierRecipe.SMITHING, "smithing");
+        this.registerModifier(ModifierAddItem.SERIALIZER, "add_item");
         
         // Loot Conditions
-        this.conditionIsMob = this.registry.lootConditions.register(EntityIsMob.SERIALIZER, "is_mob");
-        this.conditionCheckVillage = this.registry.lootConditions.register(CheckVillage.SERIALIZER, "check_village");
-        this.conditionCheckStructure = this.registry.lootConditions.register(CheckStructure.SERIALIZER, "check_structure");
-        this.conditionCheckSlimeChunk = this.registry.lootConditions.register(CheckSlimeChunk.SERIALIZER, "slime_chunk");
-        this.conditionCheckRarity = this.registry.lootConditions.register(CheckRarity.SERIALIZER, "check_rarity");
-        this.conditionCheckRaid = this.registry.lootConditions.register(CheckRaid.SERIALIZER, "check_raid");
-        this.conditionCheckPower = this.registry.lootConditions.register(CheckPower.SERIALIZER, "check_power");
-        this.conditionCheckItem = this.registry.lootConditions.register(CheckItem.SERIALIZER, "check_item");
-        this.conditionCheckHarvestLevel = this.registry.lootConditions.register(CheckHarvestLevel.SERIALIZER, "check_harvest_level");
-        this.conditionCheckEnergy = this.registry.lootConditions.register(CheckEnergy.SERIALIZER, "check_forge_energy");
-        this.conditionCheckEnchantability = this.registry.lootConditions.register(CheckEnchantability.SERIALIZER, "check_enchantability");
-        this.conditionCheckBiomeTag = this.registry.lootConditions.register(CheckBiomeTag.SERIALIZER, "check_biome_tag");
-        this.conditionCheckDimension = this.registry.lootConditions.register(CheckDimensionId.SERIALIZER, "check_dimension");
+        this.conditionIsMob = this.registerCondition(EntityIsMob.SERIALIZER, "is_mob");
+        this.conditionCheckVillage = this.registerCondition(CheckVillage.SERIALIZER, "check_village");
+        this.conditionCheckStructure = this.registerCondition(CheckStructure.SERIALIZER, "check_structure");
+        this.conditionCheckSlimeChunk = this.registerCondition(CheckSlimeChunk.SERIALIZER, "slime_chunk");
+        this.conditionCheckRarity = this.registerCondition(CheckRarity.SERIALIZER, "check_rarity");
+        this.conditionCheckRaid = this.registerCondition(CheckRaid.SERIALIZER, "check_raid");
+        this.conditionCheckPower = this.registerCondition(CheckPower.SERIALIZER, "check_power");
+        this.conditionCheckItem = this.registerCondition(CheckItem.SERIALIZER, "check_item");
+        this.conditionCheckHarvestLevel = this.registerCondition(CheckHarvestLevel.SERIALIZER, "check_harvest_level");
+        this.conditionCheckEnergy = this.registerCondition(CheckEnergy.SERIALIZER, "check_forge_energy");
+        this.conditionCheckEnchantability = this.registerCondition(CheckEnchantability.SERIALIZER, "check_enchantability");
+        this.conditionCheckBiomeTag = this.registerCondition(CheckBiomeTag.SERIALIZER, "check_biome_tag");
+        this.conditionCheckDimension = this.registerCondition(CheckDimensionId.SERIALIZER, "check_dimension");
         
         // Item Predicates
         ItemPredicate.register(new ResourceLocation("bookshelf", "modid"), ItemPredicateModid::fromJson);
@@ -192,13 +218,55 @@ public final class Bookshelf {
         this.registry.initialize(FMLJavaModLoadingContext.get().getModEventBus());
     }
     
+    private LootConditionType registerCondition (ILootSerializer<? extends ILootCondition> serializer, String id) {
+        
+        return this.registry.lootConditions.register(LootProfiler.wrap(MOD_ID + ":" + id, serializer), id);
+    }
+    
+    private void registerModifier (GlobalLootModifierSerializer<?> serializer, String id) {
+        
+        // The wrapper is the registered entry, so the real serializer is given the same name.
+        serializer.setRegistryName(new ResourceLocation(MOD_ID, id));
+        this.registry.lootModifiers.register(LootProfiler.wrap(serializer), id);
+    }
+    
     private void registerCommands (RegisterCommandsEvent event) {
         
         final LiteralArgumentBuilder<CommandSource> root = Commands.literal("bookshelf");
         new CommandHand(root);
         new CommandTranslate(root);
         new CommandLootChest(root);
+        new CommandLootProfile(root);
+        new CommandLootSimulate(root);
         
         event.getDispatcher().register(root);
     }
+    
+    private void onTagsUpdated (TagsUpdatedEvent event) {
+        
+        TagGeneration.next();
+        SerializerINamedTag.clearCaches();
+    }
+    
+    private void onIdMapping (RegistryEvent.IdMappingEvent event) {
+        
+        NamespaceIndex.invalidate();
+        ItemMatchCache.invalidateAll();
+    }
+    
+    private void onChunkUnload (ChunkEvent.Unload event) {
+        
+        if (event.getWorld() instanceof ServerWorld) {
+            
+            StructurePresenceCache.invalidate(((ServerWorld) event.getWorld()).dimension(), event.getChunk().getPos());
+        }
+    }
+    
+    private void onWorldUnload (WorldEvent.Unload event) {
+        
+        if (event.getWorld() instanceof ServerWorld) {
+            
+            StructurePresenceCache.invalidate(((ServerWorld) event.getWorld()).dimension());
+        }
+    }
 }
\ No newline at end of file
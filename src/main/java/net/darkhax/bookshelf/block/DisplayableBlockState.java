@@ -12,6 +12,8 @@ import net.darkhax.bookshelf.serialization.Serializers;
 import net.darkhax.bookshelf.util.RenderUtils;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.renderer.IRenderTypeBuffer;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.Direction;
 import net.minecraft.util.JSONUtils;
@@ -140,5 +142,32 @@ public class DisplayableBlockState {
             Serializers.VEC3F.writeOptional(buffer, toWrite.getOffset());
             Serializers.BOOLEAN.write(buffer, toWrite.isRenderFluid());
         }
+        
+        @Override
+        public INBT writeNBT (DisplayableBlockState toWrite) {
+            
+            final CompoundNBT tag = new CompoundNBT();
+            tag.put("state", Serializers.BLOCK_STATE.writeNBT(toWrite.getState()));
+            toWrite.getScale().ifPresent(v -> tag.put("scale", Serializers.VEC3F.writeNBT(v)));
+            toWrite.getOffset().ifPresent(v -> tag.put("offset", Serializers.VEC3F.writeNBT(v)));
+            tag.putBoolean("renderFluid", toWrite.isRenderFluid());
+            return tag;
+        }
+        
+        @Override
+        public DisplayableBlockState read (INBT nbt) {
+            
+            if (nbt instanceof CompoundNBT) {
+                
+                final CompoundNBT tag = (CompoundNBT) nbt;
+                final BlockState state = Serializers.BLOCK_STATE.read(tag.get("state"));
+                final Optional<Vector3f> scale = tag.contains("scale") ? Optional.of(Serializers.VEC3F.read(tag.get("scale"))) : Optional.empty();
+                final Optional<Vector3f> offset = tag.contains("offset") ? Optional.of(Serializers.VEC3F.read(tag.get("offset"))) : Optional.empty();
+                final boolean renderFluid = !tag.contains("renderFluid") || tag.getBoolean("renderFluid");
+                return new DisplayableBlockState(state, scale, offset, renderFluid);
+            }
+            
+            throw new IllegalArgumentException("Expected NBT to be a compound tag. Class was " + nbt.getClass() + " with ID " + nbt.getId() + " instead.");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package net.darkhax.bookshelf.crafting;
+
+import net.minecraft.item.crafting.Ingredient;
+
+/**
+ * Can be implemented by an {@link Ingredient} to tell recipe lookups whether its matching items
+ * can be read from {@link Ingredient#getItems()}. Ingredients that do not implement this are
+ * treated as predicate only when they are not simple and have no items.
+ */
+public interface IPredicateIngredient {
+    
+    /**
+     * Checks if the ingredient can only be resolved by testing stacks against it. When this is
+     * true the ingredient may accept items that are not in {@link Ingredient#getItems()}, and
+     * recipes using it will be checked for every input.
+     *
+     * @return Whether or not the ingredient is predicate only.
+     */
+    boolean isPredicateOnly ();
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package net.darkhax.bookshelf.crafting.block;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -7,6 +8,8 @@ import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
+import net.darkhax.bookshelf.lib.function.TagCachedSupplier;
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.ResourceLocation;
 
@@ -19,6 +22,13 @@ public abstract class BlockIngredient implements Predicate<BlockState> {
      */
     private static final Map<ResourceLocation, IBlockIngredientSerializer<?>> serializers = new ConcurrentHashMap<>();
     
+    /**
+     * A compiled set of the valid states for this ingredient, indexed by their numeric state
+     * id. This is built from {@link #getValidStates()} the first time it is needed, and again
+     * after tags are reloaded. See {@link #getCompiledStates()}.
+     */
+    private final TagCachedSupplier<BitSet> compiledStates = new TagCachedSupplier<>(this::compileStates);
+    
     /**
      * Registers a new block ingredient serializer. This will allow users to use the serializer
      * in user-facing systems.
@@ -61,6 +71,77 @@ public abstract class BlockIngredient implements Predicate<BlockState> {
         return this.getValidStates().toArray(new BlockState[0]);
     }
     
+    /**
+     * Checks if this ingredient is fully described by {@link #getValidStates()}, meaning
+     * that it will match a state if and only if that state is one of the valid states.
+     * Enumerable ingredients can be merged into other compiled ingredients, such as
+     * {@link BlockIngredientAny}. Ingredients that use other context in their test should
+     * return false.
+     *
+     * @return Whether or not the ingredient is fully described by its valid states.
+     */
+    public boolean isEnumerable () {
+        
+        return false;
+    }
+    
+    /**
+     * Gets a compiled set of the valid states for this ingredient. Each set bit is the
+     * numeric id of a valid state, as given by {@link Block#getId(BlockState)}. The set is
+     * reused until tags are reloaded, and must not be modified.
+     *
+     * @return A compiled set of the valid states.
+     */
+    public BitSet getCompiledStates () {
+        
+        return this.compiledStates.get();
+    }
+    
+    /**
+     * Builds the compiled set of valid states. By default this uses
+     * {@link #getValidStates()}.
+     *
+     * @return A new compiled set of valid states.
+     */
+    protected BitSet compileStates () {
+        
+        final BitSet compiled = new BitSet();
+        
+        for (final BlockState state : this.getValidStates()) {
+            
+            final int id = Block.getId(state);
+            
+            if (id >= 0) {
+                
+                compiled.set(id);
+            }
+        }
+        
+        return compiled;
+    }
+    
+    /**
+     * Discards the compiled set of valid states. It will be rebuilt the next time it is
+     * needed. This should be called if the valid states of the ingredient change.
+     */
+    protected void invalidateCompiledStates () {
+        
+        this.compiledStates.invalidate();
+    }
+    
+    /**
+     * Tests a state using the compiled set of valid states. This is a single bit lookup
+     * regardless of how many states are valid.
+     *
+     * @param state The state to test.
+     * @return Whether or not the state is valid.
+     */
+    protected boolean testCompiled (BlockState state) {
+        
+        final int id = Block.getId(state);
+        return id >= 0 && this.getCompiledStates().get(id);
+    }
+    
     /**
      * Gets the ID of the serializer used to read/write this ingredient.
      *
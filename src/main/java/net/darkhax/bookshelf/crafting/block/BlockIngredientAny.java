@@ -1,7 +1,9 @@
 package net.darkhax.bookshelf.crafting.block;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -11,6 +13,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import net.darkhax.bookshelf.Bookshelf;
+import net.darkhax.bookshelf.lib.function.TagCachedSupplier;
 import net.darkhax.bookshelf.serialization.Serializers;
 import net.minecraft.block.BlockState;
 import net.minecraft.network.PacketBuffer;
@@ -23,24 +26,66 @@ public class BlockIngredientAny extends BlockIngredient {
     public static final Serializer SERIALIZER = new Serializer();
     
     private final List<BlockIngredient> components;
-    private Set<BlockState> stateCache;
+    private final TagCachedSupplier<Set<BlockState>> stateCache = new TagCachedSupplier<>(this::collectStates);
+    
+    /**
+     * Components that can not be merged into the compiled set of states. This includes the
+     * dynamic components of any nested any ingredients, so testing never has to recurse into
+     * them.
+     */
+    private final BlockIngredient[] dynamicComponents;
     
     public BlockIngredientAny(List<BlockIngredient> components) {
         
         this.components = components;
+        
+        final List<BlockIngredient> dynamic = new ArrayList<>();
+        
+        for (final BlockIngredient component : components) {
+            
+            if (component instanceof BlockIngredientAny) {
+                
+                Collections.addAll(dynamic, ((BlockIngredientAny) component).dynamicComponents);
+            }
+            
+            else if (!component.isEnumerable()) {
+                
+                dynamic.add(component);
+            }
+        }
+        
+        this.dynamicComponents = dynamic.toArray(new BlockIngredient[0]);
     }
     
     @Override
     public boolean test (BlockState t) {
         
-        return this.components.stream().anyMatch(i -> i.test(t));
+        if (this.testCompiled(t)) {
+            
+            return true;
+        }
+        
+        for (final BlockIngredient component : this.dynamicComponents) {
+            
+            if (component.test(t)) {
+                
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    @Override
+    public boolean isEnumerable () {
+        
+        return this.dynamicComponents.length == 0;
     }
     
     @Override
     public Collection<BlockState> getValidStates () {
         
-        this.buildCache();
-        return this.stateCache;
+        return this.stateCache.get();
     }
     
     @Override
@@ -51,16 +96,37 @@ public class BlockIngredientAny extends BlockIngredient {
     
     public void buildCache () {
         
-        if (this.stateCache == null) {
+        this.stateCache.get();
+    }
+    
+    @Override
+    protected BitSet compileStates () {
+        
+        // Nested any ingredients only compile their enumerable components, so their compiled
+        // states can always be merged.
+        final BitSet compiled = new BitSet();
+        
+        for (final BlockIngredient component : this.components) {
             
-            final Set<BlockState> validStates = new HashSet<>();
-            this.components.forEach(c -> {
+            if (component instanceof BlockIngredientAny || component.isEnumerable()) {
                 
-                final Collection<BlockState> childStates = c.getValidStates();
-                childStates.forEach(s -> validStates.add(s));
-            });
-            this.stateCache = validStates;
+                compiled.or(component.getCompiledStates());
+            }
         }
+        
+        return compiled;
+    }
+    
+    private Set<BlockState> collectStates () {
+        
+        final Set<BlockState> validStates = new HashSet<>();
+        
+        for (final BlockIngredient component : this.components) {
+            
+            validStates.addAll(component.getValidStates());
+        }
+        
+        return validStates;
     }
     
     static class Serializer implements IBlockIngredientSerializer<BlockIngredientAny> {
@@ -103,7 +169,7 @@ public class BlockIngredientAny extends BlockIngredient {
         @Override
         public void write (PacketBuffer buf, BlockIngredientAny ingredient) {
             
-            Serializers.BLOCK_INGREDIENT.writeList(ingredient.components);
+            Serializers.BLOCK_INGREDIENT.writeList(buf, ingredient.components);
         }
     }
 }
\ No newline at end of file
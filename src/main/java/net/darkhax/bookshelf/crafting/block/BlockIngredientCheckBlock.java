@@ -20,7 +20,7 @@ public class BlockIngredientCheckBlock extends BlockIngredient {
     public static final Serializer SERIALIZER = new Serializer();
     
     private final List<Block> blocks;
-    private List<BlockState> cache;
+    private volatile List<BlockState> cache;
     
     public BlockIngredientCheckBlock(List<Block> blocks) {
         
@@ -30,15 +30,19 @@ public class BlockIngredientCheckBlock extends BlockIngredient {
     @Override
     public boolean test (BlockState t) {
         
-        this.buildCache();
-        return this.cache.contains(t);
+        return this.testCompiled(t);
+    }
+    
+    @Override
+    public boolean isEnumerable () {
+        
+        return true;
     }
     
     @Override
     public Collection<BlockState> getValidStates () {
         
-        this.buildCache();
-        return this.cache;
+        return this.buildCache();
     }
     
     @Override
@@ -47,17 +51,25 @@ public class BlockIngredientCheckBlock extends BlockIngredient {
         return ID;
     }
     
-    private void buildCache () {
+    private List<BlockState> buildCache () {
         
-        if (this.cache == null) {
+        List<BlockState> states = this.cache;
+        
+        // The list is only published once it is complete so other threads never see it
+        // partially filled.
+        if (states == null) {
             
-            this.cache = new ArrayList<>();
+            states = new ArrayList<>();
             
             for (final Block block : this.blocks) {
                 
-                block.getStateDefinition().getPossibleStates().forEach(this.cache::add);
+                states.addAll(block.getStateDefinition().getPossibleStates());
             }
+            
+            this.cache = states;
         }
+        
+        return states;
     }
     
     static class Serializer implements IBlockIngredientSerializer<BlockIngredientCheckBlock> {
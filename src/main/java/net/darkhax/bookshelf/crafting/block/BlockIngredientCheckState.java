@@ -27,7 +27,13 @@ public class BlockIngredientCheckState extends BlockIngredient {
     @Override
     public boolean test (BlockState t) {
         
-        return this.validStates.contains(t);
+        return this.testCompiled(t);
+    }
+    
+    @Override
+    public boolean isEnumerable () {
+        
+        return true;
     }
     
     @Override
@@ -8,6 +8,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import net.darkhax.bookshelf.Bookshelf;
+import net.darkhax.bookshelf.lib.function.TagCachedSupplier;
 import net.darkhax.bookshelf.serialization.Serializers;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
@@ -21,7 +22,7 @@ public class BlockIngredientCheckTag extends BlockIngredient {
     public static final Serializer SERIALIZER = new Serializer();
     
     private final INamedTag<Block> tag;
-    private List<BlockState> cache;
+    private final TagCachedSupplier<List<BlockState>> cache = new TagCachedSupplier<>(this::collectStates);
     
     public BlockIngredientCheckTag(INamedTag<Block> tag) {
         
@@ -31,15 +32,19 @@ public class BlockIngredientCheckTag extends BlockIngredient {
     @Override
     public boolean test (BlockState t) {
         
-        this.buildCache();
-        return this.cache.contains(t);
+        return this.testCompiled(t);
+    }
+    
+    @Override
+    public boolean isEnumerable () {
+        
+        return true;
     }
     
     @Override
     public Collection<BlockState> getValidStates () {
         
-        this.buildCache();
-        return this.cache;
+        return this.cache.get();
     }
     
     @Override
@@ -48,17 +53,16 @@ public class BlockIngredientCheckTag extends BlockIngredient {
         return ID;
     }
     
-    private void buildCache () {
+    private List<BlockState> collectStates () {
         
-        if (this.cache == null) {
-            
-            this.cache = new ArrayList<>();
+        final List<BlockState> states = new ArrayList<>();
+        
+        for (final Block block : this.tag.getValues()) {
             
-            for (final Block block : this.tag.getValues()) {
-                
-                block.getStateDefinition().getPossibleStates().forEach(this.cache::add);
-            }
+            states.addAll(block.getStateDefinition().getPossibleStates());
         }
+        
+        return states;
     }
     
     static class Serializer implements IBlockIngredientSerializer<BlockIngredientCheckTag> {
@@ -8,6 +8,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
@@ -25,9 +27,18 @@ public class BlockIngredientTestState extends BlockIngredient {
     public static final ResourceLocation ID = new ResourceLocation(Bookshelf.MOD_ID, "test_state");
     public static final Serializer SERIALIZER = new Serializer();
     
+    @Nullable
+    private final Block block;
     private final List<BlockState> validStates;
     private final Map<Property<?>, Object> props;
     
+    /**
+     * The constrained properties and their expected values, stored as parallel arrays so that
+     * testing a state only has to look at the properties that were actually specified.
+     */
+    private final Property<?>[] maskProperties;
+    private final Object[] maskValues;
+    
     public BlockIngredientTestState(List<BlockState> validStates) {
         
         this(validStates, new HashMap<>());
@@ -35,14 +46,57 @@ public class BlockIngredientTestState extends BlockIngredient {
     
     public BlockIngredientTestState(List<BlockState> validStates, Map<Property<?>, Object> props) {
         
+        this(null, validStates, props);
+    }
+    
+    public BlockIngredientTestState(Block block, Map<Property<?>, Object> props) {
+        
+        this(block, collectStates(block, props), props);
+    }
+    
+    private BlockIngredientTestState(@Nullable Block block, List<BlockState> validStates, Map<Property<?>, Object> props) {
+        
+        this.block = block;
         this.validStates = validStates;
         this.props = props;
+        this.maskProperties = props.keySet().toArray(new Property<?>[0]);
+        this.maskValues = new Object[this.maskProperties.length];
+        
+        for (int i = 0; i < this.maskProperties.length; i++) {
+            
+            this.maskValues[i] = props.get(this.maskProperties[i]);
+        }
     }
     
     @Override
     public boolean test (BlockState t) {
         
-        return this.validStates.contains(t);
+        // Ingredients built from an explicit list of states have no block to match against.
+        if (this.block == null) {
+            
+            return this.testCompiled(t);
+        }
+        
+        if (t.getBlock() != this.block) {
+            
+            return false;
+        }
+        
+        for (int i = 0; i < this.maskProperties.length; i++) {
+            
+            if (!t.getValue(this.maskProperties[i]).equals(this.maskValues[i])) {
+                
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    @Override
+    public boolean isEnumerable () {
+        
+        return true;
     }
     
     @Override
@@ -57,6 +111,46 @@ public class BlockIngredientTestState extends BlockIngredient {
         return ID;
     }
     
+    private static List<BlockState> collectStates (Block block, Map<Property<?>, Object> props) {
+        
+        final List<BlockState> validStates = new ArrayList<>();
+        
+        for (final BlockState state : block.getStateDefinition().getPossibleStates()) {
+            
+            if (props.entrySet().stream().allMatch(e -> state.getValue(e.getKey()).equals(e.getValue()))) {
+                
+                validStates.add(state);
+            }
+        }
+        
+        return validStates;
+    }
+    
+    private static Object readProperty (Block block, String name, String value) {
+        
+        final Property<?> property = block.getStateDefinition().getProperty(name);
+        
+        if (property != null) {
+            
+            final Optional<?> parsed = property.getValue(value);
+            
+            if (parsed.isPresent()) {
+                
+                return parsed.get();
+            }
+            
+            throw new JsonParseException("Could not resolve prop " + name + " with value " + value + " for block " + block.getRegistryName());
+        }
+        
+        throw new JsonParseException("Block " + block.getRegistryName() + " has no property " + name);
+    }
+    
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static String getValueName (Property property, Object value) {
+        
+        return property.getName((Comparable) value);
+    }
+    
     static class Serializer implements IBlockIngredientSerializer<BlockIngredientTestState> {
         
         @Override
@@ -65,50 +159,22 @@ public class BlockIngredientTestState extends BlockIngredient {
             final Block block = Serializers.BLOCK.read(json.getAsJsonObject(), "block");
             final JsonObject properties = json.getAsJsonObject().getAsJsonObject("properties");
             
-            final List<BlockState> validStates = new ArrayList<>();
             final Map<Property<?>, Object> expectedProps = new HashMap<>();
             
             for (final Entry<String, JsonElement> propValue : properties.entrySet()) {
                 
-                final Property<?> property = block.getStateDefinition().getProperty(propValue.getKey());
-                
-                if (property != null) {
-                    
-                    final Optional<?> value = property.getValue(propValue.getValue().getAsString());
-                    
-                    if (value.isPresent()) {
-                        
-                        expectedProps.put(property, value.get());
-                    }
-                    
-                    else {
-                        
-                        throw new JsonParseException("Could not resolve prop " + propValue.getKey() + " with value " + propValue.getValue().getAsString() + " for block " + block.getRegistryName());
-                    }
-                }
-                
-                else {
-                    
-                    throw new JsonParseException("Block " + block.getRegistryName() + " has no property " + propValue.getKey());
-                }
+                final String name = propValue.getKey();
+                expectedProps.put(block.getStateDefinition().getProperty(name), readProperty(block, name, propValue.getValue().getAsString()));
             }
             
-            for (final BlockState state : block.getStateDefinition().getPossibleStates()) {
-                
-                if (expectedProps.entrySet().stream().allMatch(e -> state.getValue(e.getKey()).equals(e.getValue()))) {
-                    
-                    validStates.add(state);
-                }
-            }
-            
-            return new BlockIngredientTestState(validStates, expectedProps);
+            return new BlockIngredientTestState(block, expectedProps);
         }
         
         @Override
         public JsonElement write (BlockIngredientTestState ingredient) {
             
             final JsonObject obj = new JsonObject();
-            obj.add("block", Serializers.BLOCK.write(ingredient.validStates.get(0).getBlock()));
+            obj.add("block", Serializers.BLOCK.write(ingredient.block != null ? ingredient.block : ingredient.validStates.get(0).getBlock()));
             
             final JsonObject props = new JsonObject();
             obj.add("properties", props);
@@ -124,14 +190,46 @@ public class BlockIngredientTestState extends BlockIngredient {
         @Override
         public BlockIngredientTestState read (PacketBuffer buf) {
             
-            final List<BlockState> states = Serializers.BLOCK_STATE.readList(buf);
-            return new BlockIngredientTestState(states);
+            // Ingredients with a block are sent as the block and its property constraints.
+            if (buf.readBoolean()) {
+                
+                final Block block = Serializers.BLOCK.read(buf);
+                final int count = buf.readVarInt();
+                final Map<Property<?>, Object> expectedProps = new HashMap<>();
+                
+                for (int i = 0; i < count; i++) {
+                    
+                    final String name = buf.readUtf();
+                    expectedProps.put(block.getStateDefinition().getProperty(name), readProperty(block, name, buf.readUtf()));
+                }
+                
+                return new BlockIngredientTestState(block, expectedProps);
+            }
+            
+            return new BlockIngredientTestState(Serializers.BLOCK_STATE.readList(buf));
         }
         
         @Override
         public void write (PacketBuffer buf, BlockIngredientTestState ingredient) {
             
-            Serializers.BLOCK_STATE.writeList(buf, ingredient.validStates);
+            buf.writeBoolean(ingredient.block != null);
+            
+            if (ingredient.block != null) {
+                
+                Serializers.BLOCK.write(buf, ingredient.block);
+                buf.writeVarInt(ingredient.maskProperties.length);
+                
+                for (int i = 0; i < ingredient.maskProperties.length; i++) {
+                    
+                    buf.writeUtf(ingredient.maskProperties[i].getName());
+                    buf.writeUtf(getValueName(ingredient.maskProperties[i], ingredient.maskValues[i]));
+                }
+            }
+            
+            else {
+                
+                Serializers.BLOCK_STATE.writeList(buf, ingredient.validStates);
+            }
         }
     }
 }
\ No newline at end of file
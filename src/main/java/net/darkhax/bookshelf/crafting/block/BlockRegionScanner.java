@@ -0,0 +1,199 @@
+package net.darkhax.bookshelf.crafting.block;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.MapMaker;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.palette.IPalette;
+import net.minecraft.util.palette.IdentityPalette;
+import net.minecraft.world.IWorldReader;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.ChunkStatus;
+import net.minecraft.world.chunk.IChunk;
+
+/**
+ * Scans regions of the world for blocks that match a {@link BlockIngredient}. Rather than
+ * looking up every position through the world, the scanner works on whole chunk sections.
+ * The distinct states in each section are tested against the ingredient once, and sections
+ * that contain no matching states are skipped entirely.
+ *
+ * The states a section may contain are read from its palette rather than from its 4096 block
+ * entries. Palettes only grow until they are replaced, so the states are cached per section and
+ * reused while the section has the same palette with the same number of entries. A palette can
+ * still list states that are no longer in the section, which is why positions in a section are
+ * tested individually unless every state in the palette matches. Sections that use the global
+ * palette have their states counted directly and are not cached.
+ */
+public final class BlockRegionScanner {
+    
+    /**
+     * A cache of the palette states for each chunk section. Sections are weakly held so entries
+     * are dropped when their chunk is unloaded.
+     */
+    private static final Map<ChunkSection, SectionStates> SECTION_STATES = new MapMaker().weakKeys().makeMap();
+    
+    /**
+     * The states used for sections that have not been created yet.
+     */
+    private static final BlockState[] EMPTY_SECTION = new BlockState[] { Blocks.AIR.defaultBlockState() };
+    
+    private BlockRegionScanner() {
+        
+    }
+    
+    /**
+     * Scans all loaded blocks between two positions for blocks that match an ingredient. Chunks
+     * that are not loaded are skipped.
+     *
+     * @param world The world to scan.
+     * @param from The first corner of the region.
+     * @param to The second corner of the region.
+     * @param ingredient The ingredient to test blocks against.
+     * @param consumer A consumer that receives the position of every matching block.
+     */
+    public static void scan (IWorldReader world, BlockPos from, BlockPos to, BlockIngredient ingredient, Consumer<BlockPos> consumer) {
+        
+        final int minX = Math.min(from.getX(), to.getX());
+        final int minY = Math.max(Math.min(from.getY(), to.getY()), 0);
+        final int minZ = Math.min(from.getZ(), to.getZ());
+        final int maxX = Math.max(from.getX(), to.getX());
+        final int maxY = Math.min(Math.max(from.getY(), to.getY()), 255);
+        final int maxZ = Math.max(from.getZ(), to.getZ());
+        
+        // Each state only needs to be tested once for the whole scan.
+        final Map<BlockState, Boolean> results = new IdentityHashMap<>();
+        
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                
+                final IChunk chunk = world.getChunk(chunkX, chunkZ, ChunkStatus.FULL, false);
+                
+                if (chunk == null) {
+                    
+                    continue;
+                }
+                
+                final ChunkSection[] sections = chunk.getSections();
+                
+                for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+                    
+                    final ChunkSection section = sections[sectionY];
+                    final BlockState[] states = getStates(section);
+                    final Set<BlockState> matches = getMatchingStates(states, ingredient, results);
+                    
+                    if (matches.isEmpty()) {
+                        
+                        continue;
+                    }
+                    
+                    final int startX = Math.max(minX, chunkX << 4);
+                    final int startY = Math.max(minY, sectionY << 4);
+                    final int startZ = Math.max(minZ, chunkZ << 4);
+                    final int endX = Math.min(maxX, (chunkX << 4) + 15);
+                    final int endY = Math.min(maxY, (sectionY << 4) + 15);
+                    final int endZ = Math.min(maxZ, (chunkZ << 4) + 15);
+                    
+                    // Sections that have not been created yet are only air. Every block in a
+                    // section matches when every state its palette can hold matches.
+                    final boolean matchesAll = section == null || matches.size() == states.length;
+                    
+                    for (int y = startY; y <= endY; y++) {
+                        
+                        for (int z = startZ; z <= endZ; z++) {
+                            
+                            for (int x = startX; x <= endX; x++) {
+                                
+                                if (matchesAll || matches.contains(section.getBlockState(x & 15, y & 15, z & 15))) {
+                                    
+                                    consumer.accept(new BlockPos(x, y, z));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    private static Set<BlockState> getMatchingStates (BlockState[] states, BlockIngredient ingredient, Map<BlockState, Boolean> results) {
+        
+        final Set<BlockState> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        
+        for (final BlockState state : states) {
+            
+            if (results.computeIfAbsent(state, ingredient::test)) {
+                
+                matches.add(state);
+            }
+        }
+        
+        return matches;
+    }
+    
+    private static BlockState[] getStates (@Nullable ChunkSection section) {
+        
+        if (section == null) {
+            
+            return EMPTY_SECTION;
+        }
+        
+        final IPalette<BlockState> palette = section.getStates().palette;
+        
+        // The global palette holds every state in the game, so the section has to be counted.
+        if (palette instanceof IdentityPalette) {
+            
+            final Set<BlockState> states = Collections.newSetFromMap(new IdentityHashMap<>());
+            section.getStates().count( (state, count) -> states.add(state));
+            return states.toArray(new BlockState[0]);
+        }
+        
+        final SectionStates cached = SECTION_STATES.get(section);
+        
+        if (cached != null && cached.palette == palette && palette.valueFor(cached.states.length) == null) {
+            
+            return cached.states;
+        }
+        
+        int size = 0;
+        
+        while (palette.valueFor(size) != null) {
+            
+            size++;
+        }
+        
+        final BlockState[] states = new BlockState[size];
+        
+        for (int id = 0; id < size; id++) {
+            
+            states[id] = palette.valueFor(id);
+        }
+        
+        SECTION_STATES.put(section, new SectionStates(palette, states));
+        return states;
+    }
+    
+    /**
+     * The states held by the palette of a section when it was cached.
+     */
+    private static final class SectionStates {
+        
+        private final IPalette<BlockState> palette;
+        private final BlockState[] states;
+        
+        private SectionStates(IPalette<BlockState> palette, BlockState[] states) {
+            
+            this.palette = palette;
+            this.states = states;
+        }
+    }
+}
\ No newline at end of file
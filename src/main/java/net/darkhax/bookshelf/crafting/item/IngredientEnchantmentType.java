@@ -5,6 +5,7 @@ import java.util.stream.Stream;
 
 import com.google.gson.JsonObject;
 
+import net.darkhax.bookshelf.crafting.IPredicateIngredient;
 import net.minecraft.enchantment.EnchantmentType;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -15,7 +16,7 @@ import net.minecraftforge.common.crafting.IIngredientSerializer;
 import net.minecraftforge.common.crafting.StackList;
 import net.minecraftforge.registries.ForgeRegistries;
 
-public class IngredientEnchantmentType extends Ingredient {
+public class IngredientEnchantmentType extends Ingredient implements IPredicateIngredient {
     
     public static Serializer create (EnchantmentType type) {
         
@@ -35,7 +36,7 @@ public class IngredientEnchantmentType extends Ingredient {
     @Override
     public boolean test (ItemStack stack) {
         
-        return this.type.canEnchant(stack.getItem());
+        return this.serializer.cache.get(stack.getItem()) == ItemMatchCache.ALWAYS;
     }
     
     @Override
@@ -44,6 +45,13 @@ public class IngredientEnchantmentType extends Ingredient {
         return false;
     }
     
+    @Override
+    public boolean isPredicateOnly () {
+        
+        // The matching items only depend on the item, so getItems is complete.
+        return false;
+    }
+    
     @Override
     public IIngredientSerializer<IngredientEnchantmentType> getSerializer () {
         
@@ -53,11 +61,13 @@ public class IngredientEnchantmentType extends Ingredient {
     static class Serializer implements IIngredientSerializer<IngredientEnchantmentType> {
         
         private final EnchantmentType type;
+        private final ItemMatchCache cache;
         private IngredientEnchantmentType ingredient;
         
         private Serializer(EnchantmentType type) {
             
             this.type = type;
+            this.cache = new ItemMatchCache(i -> type.canEnchant(i) ? ItemMatchCache.ALWAYS : ItemMatchCache.NEVER);
         }
         
         @Override
@@ -5,6 +5,7 @@ import java.util.stream.Stream;
 
 import com.google.gson.JsonObject;
 
+import net.darkhax.bookshelf.crafting.IPredicateIngredient;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.Ingredient;
@@ -13,9 +14,8 @@ import net.minecraft.util.JSONUtils;
 import net.minecraft.util.NonNullList;
 import net.minecraftforge.common.crafting.IIngredientSerializer;
 import net.minecraftforge.common.crafting.StackList;
-import net.minecraftforge.registries.ForgeRegistries;
 
-public class IngredientModid extends Ingredient {
+public class IngredientModid extends Ingredient implements IPredicateIngredient {
     
     public static final Serializer SERIALIZER = new Serializer();
     
@@ -30,7 +30,7 @@ public class IngredientModid extends Ingredient {
     @Override
     public boolean test (ItemStack stack) {
         
-        return !stack.isEmpty() && stack.getItem().getRegistryName().getNamespace().equals(this.modid);
+        return !stack.isEmpty() && NamespaceIndex.get().getIds(this.modid).get(Item.getId(stack.getItem()));
     }
     
     @Override
@@ -39,6 +39,13 @@ public class IngredientModid extends Ingredient {
         return false;
     }
     
+    @Override
+    public boolean isPredicateOnly () {
+        
+        // Every item in the namespace is listed, so getItems is complete.
+        return false;
+    }
+    
     @Override
     public IIngredientSerializer<IngredientModid> getSerializer () {
         
@@ -50,8 +57,9 @@ public class IngredientModid extends Ingredient {
         @Override
         public IngredientModid parse (PacketBuffer buffer) {
             
+            // Only the modid is synced, the client can build the same list of items.
             final String modid = buffer.readUtf();
-            return new IngredientModid(modid, Stream.generate( () -> new Ingredient.SingleItemList(buffer.readItem())).limit(buffer.readVarInt()));
+            return new IngredientModid(modid, Stream.of(new StackList(this.getMatchingItems(modid))));
         }
         
         @Override
@@ -65,26 +73,15 @@ public class IngredientModid extends Ingredient {
         public void write (PacketBuffer buffer, IngredientModid ingredient) {
             
             buffer.writeUtf(ingredient.modid);
-            
-            final ItemStack[] items = ingredient.getItems();
-            buffer.writeVarInt(items.length);
-            
-            for (final ItemStack stack : items) {
-                
-                buffer.writeItem(stack);
-            }
         }
         
         private List<ItemStack> getMatchingItems (String modid) {
             
             final List<ItemStack> matchingItems = NonNullList.create();
             
-            for (final Item item : ForgeRegistries.ITEMS.getValues()) {
+            for (final Item item : NamespaceIndex.get().getItems(modid)) {
                 
-                if (item.getRegistryName().getNamespace().equals(modid)) {
-                    
-                    matchingItems.add(new ItemStack(item));
-                }
+                matchingItems.add(new ItemStack(item));
             }
             
             return matchingItems;
@@ -8,6 +8,7 @@ import javax.annotation.Nullable;
 
 import com.google.gson.JsonObject;
 
+import net.darkhax.bookshelf.crafting.IPredicateIngredient;
 import net.darkhax.bookshelf.util.StackUtils;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -19,13 +20,84 @@ import net.minecraftforge.common.crafting.IIngredientSerializer;
 import net.minecraftforge.common.crafting.StackList;
 import net.minecraftforge.registries.ForgeRegistries;
 
-public class IngredientToolType extends Ingredient {
+public class IngredientToolType extends Ingredient implements IPredicateIngredient {
+    
+    /**
+     * Whether or not an item class overrides {@link Item#getToolTypes(ItemStack)}, which allows
+     * the tool types to depend on the stack.
+     */
+    private static final ClassValue<Boolean> STACK_TOOL_TYPES = new ClassValue<Boolean>() {
+        
+        @Override
+        protected Boolean computeValue (Class<?> type) {
+            
+            try {
+                
+                return type.getMethod("getToolTypes", ItemStack.class).getDeclaringClass() != Item.class;
+            }
+            
+            catch (final NoSuchMethodException e) {
+                
+                return true;
+            }
+        }
+    };
     
     public static Serializer create (Predicate<Item> condition, @Nullable ToolType type) {
         
+        return create(condition, type, true);
+    }
+    
+    /**
+     * Creates a new tool type ingredient serializer.
+     *
+     * @param condition A condition for items that always match.
+     * @param type An optional tool type that stacks can match with.
+     * @param compactSync Whether or not the ingredient is synced without its items. When
+     *        enabled the client rebuilds the ingredient locally using the condition, which
+     *        requires the condition to give the same results on both sides.
+     * @return The new ingredient serializer.
+     */
+    public static Serializer create (Predicate<Item> condition, @Nullable ToolType type, boolean compactSync) {
+        
         final Predicate<Item> itemPred = i -> condition.test(i);
-        final Predicate<ItemStack> stackPred = s -> !s.isEmpty() && (itemPred.test(s.getItem()) || type != null && StackUtils.hasToolType(type, s));
-        return new Serializer(itemPred, stackPred);
+        final ItemMatchCache cache = new ItemMatchCache(i -> classify(i, itemPred, type));
+        final Predicate<ItemStack> stackPred = s -> matches(cache, type, s);
+        return new Serializer(itemPred, stackPred, type, compactSync);
+    }
+    
+    private static byte classify (Item item, Predicate<Item> itemPred, @Nullable ToolType type) {
+        
+        if (itemPred.test(item)) {
+            
+            return ItemMatchCache.ALWAYS;
+        }
+        
+        else if (type == null) {
+            
+            return ItemMatchCache.NEVER;
+        }
+        
+        // Items that do not override getToolTypes report the same tool types for every stack.
+        else if (!STACK_TOOL_TYPES.get(item.getClass())) {
+            
+            return item.getToolTypes(item.getDefaultInstance()).contains(type) ? ItemMatchCache.ALWAYS : ItemMatchCache.NEVER;
+        }
+        
+        return ItemMatchCache.DEPENDS;
+    }
+    
+    private static boolean matches (ItemMatchCache cache, @Nullable ToolType type, ItemStack stack) {
+        
+        if (stack.isEmpty()) {
+            
+            return false;
+        }
+        
+        final byte result = cache.get(stack.getItem());
+        
+        // Only items that may have the tool type need the stack to be checked.
+        return result == ItemMatchCache.ALWAYS || result == ItemMatchCache.DEPENDS && StackUtils.hasToolType(type, stack);
     }
     
     private final Serializer serializer;
@@ -44,6 +116,13 @@ public class IngredientToolType extends Ingredient {
         return this.stackPred.test(stack);
     }
     
+    @Override
+    public boolean isPredicateOnly () {
+        
+        // Tool types can depend on the stack, so getItems may not contain every match.
+        return this.serializer.toolType != null;
+    }
+    
     @Override
     public boolean isSimple () {
         
@@ -61,34 +140,49 @@ public class IngredientToolType extends Ingredient {
         final Predicate<Item> itemPred;
         final Predicate<ItemStack> stackPred;
         
+        @Nullable
+        final ToolType toolType;
+        
+        final boolean compactSync;
+        
         private IngredientToolType ingredient;
         
-        private Serializer(Predicate<Item> itemPred, Predicate<ItemStack> stackPred) {
+        private Serializer(Predicate<Item> itemPred, Predicate<ItemStack> stackPred, @Nullable ToolType toolType, boolean compactSync) {
             
             this.itemPred = itemPred;
             this.stackPred = stackPred;
+            this.toolType = toolType;
+            this.compactSync = compactSync;
         }
         
         @Override
         public IngredientToolType parse (PacketBuffer buffer) {
             
+            // Compact ingredients only send the serializer id, which has already been read.
+            if (buffer.readBoolean()) {
+                
+                return this.getIngredient();
+            }
+            
             return new IngredientToolType(this.stackPred, this, Stream.generate( () -> new Ingredient.SingleItemList(buffer.readItem())).limit(buffer.readVarInt()));
         }
         
         @Override
         public IngredientToolType parse (JsonObject json) {
             
-            if (this.ingredient == null) {
-                
-                this.ingredient = new IngredientToolType(this.stackPred, this, Stream.of(new StackList(this.getMatchingItems())));
-            }
-            
-            return this.ingredient;
+            return this.getIngredient();
         }
         
         @Override
         public void write (PacketBuffer buffer, IngredientToolType ingredient) {
             
+            buffer.writeBoolean(this.compactSync);
+            
+            if (this.compactSync) {
+                
+                return;
+            }
+            
             final ItemStack[] items = ingredient.getItems();
             buffer.writeVarInt(items.length);
             
@@ -98,6 +192,16 @@ public class IngredientToolType extends Ingredient {
             }
         }
         
+        private IngredientToolType getIngredient () {
+            
+            if (this.ingredient == null) {
+                
+                this.ingredient = new IngredientToolType(this.stackPred, this, Stream.of(new StackList(this.getMatchingItems())));
+            }
+            
+            return this.ingredient;
+        }
+        
         private List<ItemStack> getMatchingItems () {
             
             final List<ItemStack> matchingItems = NonNullList.create();
@@ -0,0 +1,131 @@
+package net.darkhax.bookshelf.crafting.item;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import net.darkhax.bookshelf.lib.function.TagCachedSupplier;
+import net.minecraft.item.Item;
+import net.minecraftforge.registries.ForgeRegistries;
+
+/**
+ * Caches whether an ingredient can match each item. Every registered item is placed into one of
+ * three buckets. Items that always or never match can be resolved without looking at the stack,
+ * while items that depend on the stack still need a full check. The buckets are computed for
+ * the whole item registry at once and stored in an array indexed by {@link Item#getId(Item)},
+ * so reading them takes no lock. The array is rebuilt after tags are reloaded or item ids are
+ * remapped.
+ */
+public final class ItemMatchCache {
+    
+    /**
+     * Stacks of the item never match.
+     */
+    public static final byte NEVER = 0;
+    
+    /**
+     * Stacks of the item always match.
+     */
+    public static final byte ALWAYS = 1;
+    
+    /**
+     * Whether or not a stack of the item matches depends on the stack.
+     */
+    public static final byte DEPENDS = 2;
+    
+    /**
+     * The current item id generation. This is incremented every time item ids are remapped.
+     */
+    private static final AtomicInteger ID_GENERATION = new AtomicInteger();
+    
+    /**
+     * The function used to place items into a bucket.
+     */
+    private final ToIntFunction<Item> classifier;
+    
+    /**
+     * The buckets of every registered item.
+     */
+    private final TagCachedSupplier<Buckets> buckets = new TagCachedSupplier<>(this::build);
+    
+    public ItemMatchCache(ToIntFunction<Item> classifier) {
+        
+        this.classifier = classifier;
+    }
+    
+    /**
+     * Gets the bucket for an item. This will be {@link #NEVER}, {@link #ALWAYS} or
+     * {@link #DEPENDS}.
+     *
+     * @param item The item to look up.
+     * @return The bucket the item belongs to.
+     */
+    public byte get (Item item) {
+        
+        Buckets current = this.buckets.get();
+        
+        if (current.idGeneration != ID_GENERATION.get()) {
+            
+            this.buckets.invalidate();
+            current = this.buckets.get();
+        }
+        
+        final int id = Item.getId(item);
+        
+        // Items that were not registered when the buckets were built are classified directly.
+        return id >= 0 && id < current.values.length ? current.values[id] : (byte) this.classifier.applyAsInt(item);
+    }
+    
+    /**
+     * Discards all cached buckets.
+     */
+    public void invalidate () {
+        
+        this.buckets.invalidate();
+    }
+    
+    /**
+     * Discards the buckets of every cache. This is done automatically by Bookshelf when item
+     * ids are remapped.
+     */
+    public static void invalidateAll () {
+        
+        ID_GENERATION.incrementAndGet();
+    }
+    
+    private Buckets build () {
+        
+        final int idGeneration = ID_GENERATION.get();
+        int maxId = -1;
+        
+        for (final Item item : ForgeRegistries.ITEMS.getValues()) {
+            
+            maxId = Math.max(maxId, Item.getId(item));
+        }
+        
+        final byte[] values = new byte[maxId + 1];
+        
+        for (final Item item : ForgeRegistries.ITEMS.getValues()) {
+            
+            final int id = Item.getId(item);
+            
+            if (id >= 0) {
+                
+                values[id] = (byte) this.classifier.applyAsInt(item);
+            }
+        }
+        
+        return new Buckets(idGeneration, values);
+    }
+    
+    private static final class Buckets {
+        
+        private final int idGeneration;
+        private final byte[] values;
+        
+        private Buckets(int idGeneration, byte[] values) {
+            
+            this.idGeneration = idGeneration;
+            this.values = values;
+        }
+    }
+}
\ No newline at end of file
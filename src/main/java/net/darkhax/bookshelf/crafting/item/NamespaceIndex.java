@@ -0,0 +1,92 @@
+package net.darkhax.bookshelf.crafting.item;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.item.Item;
+import net.minecraftforge.registries.ForgeRegistries;
+
+/**
+ * An index of all registered items grouped by the namespace of their registry name. Each
+ * namespace maps to a list of its items and a bitset over their numeric item ids. The index
+ * is built once and reused until item ids are remapped.
+ */
+public final class NamespaceIndex {
+    
+    private static final BitSet EMPTY_IDS = new BitSet();
+    
+    /**
+     * The current index. This is null until the index is first requested or after it has been
+     * invalidated.
+     */
+    @Nullable
+    private static volatile NamespaceIndex instance;
+    
+    private final Map<String, List<Item>> items = new HashMap<>();
+    private final Map<String, BitSet> ids = new HashMap<>();
+    
+    private NamespaceIndex() {
+        
+        for (final Item item : ForgeRegistries.ITEMS.getValues()) {
+            
+            final String namespace = item.getRegistryName().getNamespace();
+            this.items.computeIfAbsent(namespace, key -> new ArrayList<>()).add(item);
+            this.ids.computeIfAbsent(namespace, key -> new BitSet()).set(Item.getId(item));
+        }
+    }
+    
+    /**
+     * Gets all items that belong to a namespace.
+     *
+     * @param namespace The namespace to look up.
+     * @return A list of items in the namespace. This list should not be modified.
+     */
+    public List<Item> getItems (String namespace) {
+        
+        return this.items.getOrDefault(namespace, Collections.emptyList());
+    }
+    
+    /**
+     * Gets the ids of all items that belong to a namespace. The bits are set using
+     * {@link Item#getId(Item)}.
+     *
+     * @param namespace The namespace to look up.
+     * @return A bitset of item ids in the namespace. This bitset should not be modified.
+     */
+    public BitSet getIds (String namespace) {
+        
+        return this.ids.getOrDefault(namespace, EMPTY_IDS);
+    }
+    
+    /**
+     * Gets the current namespace index, building it if needed.
+     *
+     * @return The current namespace index.
+     */
+    public static NamespaceIndex get () {
+        
+        NamespaceIndex index = instance;
+        
+        if (index == null) {
+            
+            index = new NamespaceIndex();
+            instance = index;
+        }
+        
+        return index;
+    }
+    
+    /**
+     * Discards the current index. This should be called whenever item ids are remapped.
+     */
+    public static void invalidate () {
+        
+        instance = null;
+    }
+}
\ No newline at end of file
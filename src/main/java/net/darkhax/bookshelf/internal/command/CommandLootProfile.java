@@ -0,0 +1,94 @@
+package net.darkhax.bookshelf.internal.command;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import net.darkhax.bookshelf.Bookshelf;
+import net.darkhax.bookshelf.loot.LootProfiler;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.command.impl.ReloadCommand;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraft.util.text.TranslationTextComponent;
+import net.minecraftforge.fml.loading.FMLPaths;
+
+public class CommandLootProfile {
+    
+    public CommandLootProfile(LiteralArgumentBuilder<CommandSource> root) {
+        
+        root.then(Commands.literal("lootprofile").requires(s -> s.hasPermission(2)).executes(this::print).then(Commands.literal("start").executes(this::start)).then(Commands.literal("stop").executes(this::stop)).then(Commands.literal("reset").executes(this::reset)).then(Commands.literal("dump").executes(this::dump)));
+    }
+    
+    private int print (CommandContext<CommandSource> context) throws CommandSyntaxException {
+        
+        if (LootProfiler.getEntries().isEmpty()) {
+            
+            context.getSource().sendFailure(new TranslationTextComponent("commands.bookshelf.lootprofile.empty"));
+            return 0;
+        }
+        
+        context.getSource().sendSuccess(new StringTextComponent(LootProfiler.createTable().toString()), false);
+        return LootProfiler.getEntries().size();
+    }
+    
+    private int start (CommandContext<CommandSource> context) throws CommandSyntaxException {
+        
+        LootProfiler.setEnabled(true);
+        context.getSource().sendSuccess(new TranslationTextComponent("commands.bookshelf.lootprofile.start"), true);
+        this.reloadPacks(context.getSource());
+        return 0;
+    }
+    
+    private int stop (CommandContext<CommandSource> context) throws CommandSyntaxException {
+        
+        LootProfiler.setEnabled(false);
+        context.getSource().sendSuccess(new TranslationTextComponent("commands.bookshelf.lootprofile.stop"), true);
+        this.reloadPacks(context.getSource());
+        return 0;
+    }
+    
+    /**
+     * Reloads the data packs so loot conditions and modifiers are loaded again. Profiling only
+     * wraps them as they are loaded.
+     *
+     * @param source The source of the command.
+     */
+    private void reloadPacks (CommandSource source) {
+        
+        ReloadCommand.reloadPacks(source.getServer().getPackRepository().getSelectedIds(), source);
+    }
+    
+    private int reset (CommandContext<CommandSource> context) throws CommandSyntaxException {
+        
+        LootProfiler.reset();
+        context.getSource().sendSuccess(new TranslationTextComponent("commands.bookshelf.lootprofile.reset"), true);
+        return 0;
+    }
+    
+    private int dump (CommandContext<CommandSource> context) throws CommandSyntaxException {
+        
+        final Path output = FMLPaths.GAMEDIR.get().resolve("logs").resolve("bookshelf-lootprofile.txt");
+        
+        try {
+            
+            Files.createDirectories(output.getParent());
+            Files.write(output, LootProfiler.createTable().toString().getBytes(StandardCharsets.UTF_8));
+            context.getSource().sendSuccess(new TranslationTextComponent("commands.bookshelf.lootprofile.dump", output.toString()), false);
+        }
+        
+        catch (final IOException e) {
+            
+            Bookshelf.LOG.error("Could not write loot profile to {}.", output);
+            Bookshelf.LOG.catching(e);
+            context.getSource().sendFailure(new TranslationTextComponent("commands.bookshelf.lootprofile.dump.failed", output.toString()));
+        }
+        
+        return 0;
+    }
+}
\ No newline at end of file
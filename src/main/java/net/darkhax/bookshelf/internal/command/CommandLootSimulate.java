@@ -0,0 +1,209 @@
+package net.darkhax.bookshelf.internal.command;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import net.darkhax.bookshelf.Bookshelf;
+import net.darkhax.bookshelf.command.ArgumentTypeLootTable;
+import net.darkhax.bookshelf.lib.TableBuilder;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.item.Item;
+import net.minecraft.loot.LootContext;
+import net.minecraft.loot.LootParameterSets;
+import net.minecraft.loot.LootTable;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.concurrent.TickDelayedTask;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraft.util.text.TranslationTextComponent;
+import net.minecraft.world.server.ServerWorld;
+
+/**
+ * Rolls a loot table many times and reports how often each item dropped. Loot tables can read
+ * the world, so all rolls happen on the server thread. They are split into small time limited
+ * slices that are queued as server tasks, which lets the server keep ticking while the
+ * simulation runs.
+ *
+ * An analysis command should not change the world, so rolls use a loot context with no
+ * parameters and global loot modifiers are not applied. Loot functions that change the world,
+ * such as exploration maps creating new map data, need a position and are skipped. Conditions
+ * that depend on a position, entity or tool will not pass. Functions from other mods that
+ * change the world without needing a parameter can still do so, which is why the command warns
+ * the operator before it runs.
+ */
+public class CommandLootSimulate {
+    
+    /**
+     * The most time a single slice of rolls may use, in nanoseconds.
+     */
+    private static final long SLICE_NANOS = 5_000_000L;
+    
+    /**
+     * The most rolls that a single simulation may perform.
+     */
+    private static final int MAX_ROLLS = 100_000;
+    
+    public CommandLootSimulate(LiteralArgumentBuilder<CommandSource> root) {
+        
+        root.then(Commands.literal("loot").requires(s -> s.hasPermission(2)).then(Commands.literal("simulate").then(Commands.argument("table", ArgumentTypeLootTable.INSTACE).then(Commands.argument("rolls", IntegerArgumentType.integer(1, MAX_ROLLS)).executes(this::simulate)))));
+    }
+    
+    private int simulate (CommandContext<CommandSource> context) throws CommandSyntaxException {
+        
+        final CommandSource source = context.getSource();
+        final MinecraftServer server = source.getServer();
+        final ResourceLocation tableId = ArgumentTypeLootTable.getTable(context, "table");
+        final LootTable table = tableId != null ? server.getLootTables().get(tableId) : LootTable.EMPTY;
+        
+        if (table == LootTable.EMPTY) {
+            
+            source.sendFailure(new TranslationTextComponent("commands.bookshelf.loot.simulate.missing", ArgumentTypeLootTable.getTableId(context, "table")));
+            return 0;
+        }
+        
+        final int rolls = IntegerArgumentType.getInteger(context, "rolls");
+        final ServerWorld world = source.getLevel();
+        final Random random = new Random(world.getRandom().nextLong());
+        
+        source.sendSuccess(new TranslationTextComponent("commands.bookshelf.loot.simulate.start", rolls, tableId.toString()), false);
+        server.tell(new TickDelayedTask(server.getTickCount(), new Simulation(source, tableId, table, world, random, rolls)));
+        return rolls;
+    }
+    
+    /**
+     * A running simulation. Each time it is run it rolls the table until its time slice is used
+     * up, and then queues itself again until all rolls are done.
+     */
+    private static final class Simulation implements Runnable {
+        
+        private final CommandSource source;
+        private final ResourceLocation tableId;
+        private final LootTable table;
+        private final ServerWorld world;
+        private final Random random;
+        private final int rolls;
+        private final long startTime = System.nanoTime();
+        private final Histogram histogram = new Histogram();
+        private final Map<Item, Integer> rollCounts = new IdentityHashMap<>();
+        private int completed;
+        
+        private Simulation(CommandSource source, ResourceLocation tableId, LootTable table, ServerWorld world, Random random, int rolls) {
+            
+            this.source = source;
+            this.tableId = tableId;
+            this.table = table;
+            this.world = world;
+            this.random = random;
+            this.rolls = rolls;
+        }
+        
+        @Override
+        public void run () {
+            
+            final long sliceEnd = System.nanoTime() + SLICE_NANOS;
+            
+            try {
+                
+                while (this.completed < this.rolls && System.nanoTime() < sliceEnd) {
+                    
+                    this.roll();
+                    this.completed++;
+                }
+            }
+            
+            catch (final Exception e) {
+                
+                Bookshelf.LOG.error("Failed to simulate loot table {}.", this.tableId);
+                Bookshelf.LOG.catching(e);
+                this.source.sendFailure(new TranslationTextComponent("commands.bookshelf.loot.simulate.failed", this.tableId.toString()));
+                return;
+            }
+            
+            if (this.completed < this.rolls) {
+                
+                final MinecraftServer server = this.source.getServer();
+                server.tell(new TickDelayedTask(server.getTickCount(), this));
+            }
+            
+            else {
+                
+                this.source.sendSuccess(new TranslationTextComponent("commands.bookshelf.loot.simulate.done", this.rolls, this.tableId.toString(), (System.nanoTime() - this.startTime) / 1_000_000), false);
+                this.source.sendSuccess(new StringTextComponent(this.histogram.createTable(this.rolls).toString()), false);
+            }
+        }
+        
+        private void roll () {
+            
+            final LootContext ctx = new LootContext.Builder(this.world).withRandom(this.random).create(LootParameterSets.EMPTY);
+            
+            // The consumer version does not apply global loot modifiers.
+            this.table.getRandomItems(ctx, stack -> this.rollCounts.merge(stack.getItem(), stack.getCount(), Integer::sum));
+            
+            for (final Map.Entry<Item, Integer> entry : this.rollCounts.entrySet()) {
+                
+                this.histogram.add(entry.getKey(), entry.getValue());
+            }
+            
+            this.rollCounts.clear();
+        }
+    }
+    
+    /**
+     * Tracks how many of each item dropped across all rolls. The sum of squares is kept so the
+     * variance of the amount dropped per roll can be calculated.
+     */
+    private static final class Histogram {
+        
+        private final Map<Item, ItemStats> stats = new IdentityHashMap<>();
+        
+        private void add (Item item, long count) {
+            
+            final ItemStats itemStats = this.stats.computeIfAbsent(item, ItemStats::new);
+            itemStats.hits++;
+            itemStats.sum += count;
+            itemStats.sumSquares += count * count;
+        }
+        
+        private TableBuilder<ItemStats> createTable (int rolls) {
+            
+            final TableBuilder<ItemStats> table = new TableBuilder<>();
+            table.addColumn("Item", s -> s.item.getRegistryName());
+            table.addColumn("Chance %", s -> String.format("%.3f", 100d * s.hits / rolls));
+            table.addColumn("Expected", s -> String.format("%.4f", s.getMean(rolls)));
+            table.addColumn("Variance", s -> String.format("%.4f", s.getVariance(rolls)));
+            this.stats.values().stream().sorted( (a, b) -> Long.compare(b.sum, a.sum)).forEach(table::addEntry);
+            return table;
+        }
+    }
+    
+    private static final class ItemStats {
+        
+        private final Item item;
+        private long hits;
+        private long sum;
+        private long sumSquares;
+        
+        private ItemStats(Item item) {
+            
+            this.item = item;
+        }
+        
+        private double getMean (int rolls) {
+            
+            return (double) this.sum / rolls;
+        }
+        
+        private double getVariance (int rolls) {
+            
+            final double mean = this.getMean(rolls);
+            return (double) this.sumSquares / rolls - mean * mean;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+/**
+ * This class was created by <Darkhax>. It is distributed as part of Bookshelf. You can find
+ * the original source here: https://github.com/Darkhax-Minecraft/Bookshelf
+ *
+ * Bookshelf is Open Source and distributed under the GNU Lesser General Public License version
+ * 2.1.
+ */
+package net.darkhax.bookshelf.lib;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.collect.MapMaker;
+
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.common.BiomeDictionary;
+import net.minecraftforge.common.BiomeDictionary.Type;
+
+/**
+ * Caches the biome dictionary types of each biome as a bitset. Each type is given a bit index
+ * the first time it is used, so checking if a biome has a type is an identity lookup and a bit
+ * test. Biomes are weakly held because each server creates its own biome instances.
+ */
+public final class BiomeTypeCache {
+    
+    private static final Map<Type, Integer> INDICES = new HashMap<>();
+    private static final Map<Biome, BitSet> TYPES = new MapMaker().weakKeys().makeMap();
+    
+    private BiomeTypeCache() {
+        
+    }
+    
+    /**
+     * Gets the bit index used for a biome type.
+     *
+     * @param type The biome type.
+     * @return The bit index of the type.
+     */
+    public static synchronized int getIndex (Type type) {
+        
+        return INDICES.computeIfAbsent(type, key -> INDICES.size());
+    }
+    
+    /**
+     * Checks if a biome has a biome type.
+     *
+     * @param biome The biome to check.
+     * @param typeIndex The bit index of the type, from {@link #getIndex(Type)}.
+     * @return Whether or not the biome has the type.
+     */
+    public static boolean hasType (Biome biome, int typeIndex) {
+        
+        return getTypes(biome).get(typeIndex);
+    }
+    
+    /**
+     * Gets the types of a biome as a bitset of type indexes.
+     *
+     * @param biome The biome to look up.
+     * @return The types of the biome. This bitset should not be modified.
+     */
+    public static BitSet getTypes (Biome biome) {
+        
+        return TYPES.computeIfAbsent(biome, BiomeTypeCache::compileTypes);
+    }
+    
+    private static BitSet compileTypes (Biome biome) {
+        
+        final BitSet types = new BitSet();
+        final ResourceLocation name = biome.getRegistryName();
+        
+        if (name != null) {
+            
+            for (final Type type : BiomeDictionary.getTypes(RegistryKey.create(Registry.BIOME_REGISTRY, name))) {
+                
+                types.set(getIndex(type));
+            }
+        }
+        
+        return types;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+/**
+ * This class was created by <Darkhax>. It is distributed as part of Bookshelf. You can find
+ * the original source here: https://github.com/Darkhax-Minecraft/Bookshelf
+ *
+ * Bookshelf is Open Source and distributed under the GNU Lesser General Public License version
+ * 2.1.
+ */
+package net.darkhax.bookshelf.lib;
+
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import com.google.common.collect.MapMaker;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.SharedSeedRandom;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.server.ServerWorld;
+
+/**
+ * Caches which chunks of a world are slime chunks. Chunks are grouped into regions of 32 by 32
+ * chunks, and each region is stored as a bitmap that is computed the first time a chunk in
+ * that region is checked. The seed of a world never changes, so regions are kept for the life
+ * of the world.
+ */
+public final class SlimeChunkCache {
+    
+    /**
+     * The salt used by vanilla when seeding the slime chunk random.
+     */
+    private static final long SLIME_SALT = 987234911L;
+    
+    /**
+     * The number of chunks along each side of a region.
+     */
+    private static final int REGION_SIZE = 32;
+    
+    /**
+     * The slime chunk caches for each world. Worlds are weakly held so the cache is dropped when
+     * the world is unloaded.
+     */
+    private static final Map<ServerWorld, SlimeChunkCache> CACHES = new MapMaker().weakKeys().makeMap();
+    
+    private final long seed;
+    private final Long2ObjectOpenHashMap<long[]> regions = new Long2ObjectOpenHashMap<>();
+    
+    private SlimeChunkCache(long seed) {
+        
+        this.seed = seed;
+    }
+    
+    /**
+     * Checks if a chunk is a slime chunk.
+     *
+     * @param chunkX The x position of the chunk.
+     * @param chunkZ The z position of the chunk.
+     * @return Whether or not the chunk is a slime chunk.
+     */
+    public boolean isSlimeChunk (int chunkX, int chunkZ) {
+        
+        final long[] region = this.getRegion(chunkX >> 5, chunkZ >> 5);
+        final int bit = (chunkZ & (REGION_SIZE - 1)) * REGION_SIZE + (chunkX & (REGION_SIZE - 1));
+        return (region[bit >> 6] & 1L << bit) != 0;
+    }
+    
+    /**
+     * Computes all regions between two chunks ahead of time. Regions are computed in parallel.
+     *
+     * @param from The first corner of the area.
+     * @param to The second corner of the area.
+     */
+    public void preload (ChunkPos from, ChunkPos to) {
+        
+        final int minX = Math.min(from.x, to.x) >> 5;
+        final int minZ = Math.min(from.z, to.z) >> 5;
+        final int maxX = Math.max(from.x, to.x) >> 5;
+        final int maxZ = Math.max(from.z, to.z) >> 5;
+        final int width = maxX - minX + 1;
+        
+        LongStream.range(0, (long) width * (maxZ - minZ + 1)).parallel().forEach(i -> this.getRegion(minX + (int) (i % width), minZ + (int) (i / width)));
+    }
+    
+    private long[] getRegion (int regionX, int regionZ) {
+        
+        final long key = ChunkPos.asLong(regionX, regionZ);
+        
+        synchronized (this.regions) {
+            
+            final long[] region = this.regions.get(key);
+            
+            if (region != null) {
+                
+                return region;
+            }
+        }
+        
+        final long[] region = this.computeRegion(regionX, regionZ);
+        
+        synchronized (this.regions) {
+            
+            this.regions.put(key, region);
+        }
+        
+        return region;
+    }
+    
+    private long[] computeRegion (int regionX, int regionZ) {
+        
+        final long[] region = new long[REGION_SIZE * REGION_SIZE / 64];
+        
+        for (int z = 0; z < REGION_SIZE; z++) {
+            
+            for (int x = 0; x < REGION_SIZE; x++) {
+                
+                if (SharedSeedRandom.seedSlimeChunk(regionX * REGION_SIZE + x, regionZ * REGION_SIZE + z, this.seed, SLIME_SALT).nextInt(10) == 0) {
+                    
+                    final int bit = z * REGION_SIZE + x;
+                    region[bit >> 6] |= 1L << bit;
+                }
+            }
+        }
+        
+        return region;
+    }
+    
+    /**
+     * Gets the slime chunk cache for a world.
+     *
+     * @param world The world to get the cache for.
+     * @return The slime chunk cache for the world.
+     */
+    public static SlimeChunkCache get (ServerWorld world) {
+        
+        return CACHES.computeIfAbsent(world, key -> new SlimeChunkCache(key.getSeed()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+/**
+ * This class was created by <Darkhax>. It is distributed as part of Bookshelf. You can find
+ * the original source here: https://github.com/Darkhax-Minecraft/Bookshelf
+ *
+ * Bookshelf is Open Source and distributed under the GNU Lesser General Public License version
+ * 2.1.
+ */
+package net.darkhax.bookshelf.lib;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.SectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.gen.feature.structure.Structure;
+import net.minecraft.world.gen.feature.structure.StructurePiece;
+import net.minecraft.world.gen.feature.structure.StructureStart;
+import net.minecraft.world.server.ServerWorld;
+
+/**
+ * Caches the structure starts that reference each chunk. Resolving the structure references of
+ * a chunk requires looking up the start of every referenced structure, so the resolved starts
+ * are kept for each dimension, structure and chunk. Chunks that have no references are cached
+ * as well. Entries are removed when their chunk is unloaded.
+ */
+public final class StructurePresenceCache {
+    
+    private static final StructureStart<?>[] NO_STARTS = new StructureStart<?>[0];
+    
+    /**
+     * The cached starts for each dimension. These are keyed by chunk position and then by the
+     * structure.
+     */
+    private static final Map<RegistryKey<World>, Long2ObjectOpenHashMap<Map<Structure<?>, StructureStart<?>[]>>> STARTS = new ConcurrentHashMap<>();
+    
+    private StructurePresenceCache() {
+        
+    }
+    
+    /**
+     * Checks if a position is within the pieces of a structure.
+     *
+     * @param world The world to check within.
+     * @param pos The position to check.
+     * @param structure The structure to look for.
+     * @return Whether or not the position was within that structure.
+     */
+    public static boolean isInStructure (ServerWorld world, BlockPos pos, Structure<?> structure) {
+        
+        for (final StructureStart<?> start : getStarts(world, pos, structure)) {
+            
+            if (start.getBoundingBox().isInside(pos)) {
+                
+                for (final StructurePiece piece : start.getPieces()) {
+                    
+                    if (piece.getBoundingBox().isInside(pos)) {
+                        
+                        return true;
+                    }
+                }
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Gets the valid starts of a structure that reference the chunk a position is in.
+     *
+     * @param world The world to check within.
+     * @param pos The position to check.
+     * @param structure The structure to look for.
+     * @return The structure starts that reference the chunk. This array should not be modified.
+     */
+    public static StructureStart<?>[] getStarts (ServerWorld world, BlockPos pos, Structure<?> structure) {
+        
+        final long chunk = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        final Long2ObjectOpenHashMap<Map<Structure<?>, StructureStart<?>[]>> chunks = STARTS.computeIfAbsent(world.dimension(), key -> new Long2ObjectOpenHashMap<>());
+        
+        synchronized (chunks) {
+            
+            final Map<Structure<?>, StructureStart<?>[]> structures = chunks.get(chunk);
+            
+            if (structures != null) {
+                
+                final StructureStart<?>[] starts = structures.get(structure);
+                
+                if (starts != null) {
+                    
+                    return starts;
+                }
+            }
+        }
+        
+        // Resolving the starts may load chunks, so this is done outside of the lock.
+        final StructureStart<?>[] starts = world.structureFeatureManager().startsForFeature(SectionPos.of(pos), structure).toArray(StructureStart<?>[]::new);
+        
+        synchronized (chunks) {
+            
+            chunks.computeIfAbsent(chunk, key -> new IdentityHashMap<>()).put(structure, starts.length == 0 ? NO_STARTS : starts);
+        }
+        
+        return starts;
+    }
+    
+    /**
+     * Removes the cached starts for a chunk. This is called when the chunk is unloaded.
+     *
+     * @param dimension The dimension the chunk is in.
+     * @param chunk The position of the chunk.
+     */
+    public static void invalidate (RegistryKey<World> dimension, ChunkPos chunk) {
+        
+        final Long2ObjectOpenHashMap<Map<Structure<?>, StructureStart<?>[]>> chunks = STARTS.get(dimension);
+        
+        if (chunks != null) {
+            
+            synchronized (chunks) {
+                
+                chunks.remove(chunk.toLong());
+            }
+        }
+    }
+    
+    /**
+     * Removes the cached starts for a dimension. This is called when the world is unloaded.
+     *
+     * @param dimension The dimension to remove starts for.
+     */
+    public static void invalidate (RegistryKey<World> dimension) {
+        
+        STARTS.remove(dimension);
+    }
+    
+    /**
+     * Removes all cached starts.
+     */
+    public static void clear () {
+        
+        STARTS.clear();
+    }
+}
\ No newline at end of file
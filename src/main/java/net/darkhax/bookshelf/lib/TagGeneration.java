@@ -0,0 +1,50 @@
+/**
+ * This class was created by <Darkhax>. It is distributed as part of Bookshelf. You can find
+ * the original source here: https://github.com/Darkhax-Minecraft/Bookshelf
+ *
+ * Bookshelf is Open Source and distributed under the GNU Lesser General Public License version
+ * 2.1.
+ */
+package net.darkhax.bookshelf.lib;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.darkhax.bookshelf.lib.function.TagCachedSupplier;
+
+/**
+ * Tracks how many times tags have been reloaded. Caches that are built from tags can record
+ * the generation they were built in, and rebuild themselves when it changes. See
+ * {@link TagCachedSupplier} for a supplier that does this automatically.
+ */
+public final class TagGeneration {
+    
+    /**
+     * The current tag generation. This is incremented every time tags are reloaded.
+     */
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+    
+    private TagGeneration() {
+        
+    }
+    
+    /**
+     * Gets the current tag generation.
+     *
+     * @return The current tag generation.
+     */
+    public static int get () {
+        
+        return GENERATION.get();
+    }
+    
+    /**
+     * Advances the tag generation. This is done automatically by Bookshelf when tags are
+     * reloaded.
+     *
+     * @return The new tag generation.
+     */
+    public static int next () {
+        
+        return GENERATION.incrementAndGet();
+    }
+}
\ No newline at end of file
@@ -10,6 +10,7 @@ package net.darkhax.bookshelf.lib;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
@@ -25,6 +26,13 @@ public class WeightedSelector<T> {
      */
     private int total = 0;
     
+    /**
+     * A compiled alias table for the current entries. This is built lazily when an entry is
+     * first drawn and is discarded whenever the entries or total weight change.
+     */
+    @Nullable
+    private AliasTable<T> compiled;
+    
     /**
      * Adds an entry to the list. The entry is created from the value and weight passed. Only
      * serves as a quality of life method.
@@ -51,6 +59,7 @@ public class WeightedSelector<T> {
         
         if (added) {
             this.total += entry.getWeight();
+            this.compiled = null;
         }
         
         return added;
@@ -69,6 +78,7 @@ public class WeightedSelector<T> {
         
         if (removed) {
             this.total -= entry.getWeight();
+            this.compiled = null;
         }
         
         return removed;
@@ -88,7 +98,8 @@ public class WeightedSelector<T> {
     
     /**
      * Randomly selects an entry from the list. Makes use of the weighted values to give values
-     * with higher weight a better likelihood.
+     * with higher weight a better likelihood. Draws are made in constant time using the
+     * compiled alias table, see {@link #getCompiled()}.
      *
      * @param rand An instance of random used to weight things.
      * @return The weighted entry that was selected.
@@ -98,22 +109,50 @@ public class WeightedSelector<T> {
         
         if (!this.entries.isEmpty()) {
             
-            final int selected = rand.nextInt(this.total);
-            int current = 0;
-            
-            for (final WeightedEntry<T> entry : this.entries) {
-                
-                current += entry.weight;
-                
-                if (selected < current) {
-                    return entry;
-                }
-            }
+            return this.getCompiled().getRandomEntry(rand);
         }
         
         return null;
     }
     
+    /**
+     * Randomly selects several entries from the list and passes their values to a consumer.
+     * This avoids creating any intermediate collections, making it suitable for large batches
+     * of draws.
+     *
+     * @param rand An instance of random used to weight things.
+     * @param count The amount of entries to draw.
+     * @param consumer A consumer that accepts the value of each selected entry.
+     */
+    public void sample (Random rand, int count, Consumer<T> consumer) {
+        
+        if (!this.entries.isEmpty()) {
+            
+            this.getCompiled().sample(rand, count, consumer);
+        }
+    }
+    
+    /**
+     * Gets an immutable alias table for the current entries. The table is built the first
+     * time it is requested and will be reused until the entries are changed through
+     * {@link #addEntry(WeightedEntry)}, {@link #removeEntry(WeightedEntry)}, or
+     * {@link #updateTotal()}.
+     *
+     * @return The compiled alias table for the current entries.
+     */
+    public AliasTable<T> getCompiled () {
+        
+        AliasTable<T> table = this.compiled;
+        
+        if (table == null) {
+            
+            table = new AliasTable<>(this.entries, this.total);
+            this.compiled = table;
+        }
+        
+        return table;
+    }
+    
     public int getTotalWeight () {
         
         return this.total;
@@ -133,6 +172,7 @@ public class WeightedSelector<T> {
             this.total += entry.getWeight();
         }
         
+        this.compiled = null;
         return this.total;
     }
     
@@ -181,4 +221,162 @@ public class WeightedSelector<T> {
             return this.weight;
         }
     }
+    
+    /**
+     * An immutable snapshot of a weighted selector which has been compiled using Vose's alias
+     * method. Each draw costs two random numbers and one array lookup regardless of how many
+     * entries there are. Weights are kept as integers so the distribution is exact.
+     *
+     * @param <T> The type of value held by the entries.
+     */
+    public static final class AliasTable<T> {
+        
+        /**
+         * The entries that can be selected, in their original order.
+         */
+        private final WeightedEntry<T>[] entries;
+        
+        /**
+         * The chance out of {@link #total} that a column will keep its own entry instead of
+         * using the alias.
+         */
+        private final int[] probability;
+        
+        /**
+         * The index of the entry used when a column does not keep its own entry.
+         */
+        private final int[] alias;
+        
+        /**
+         * The total weight of all entries.
+         */
+        private final int total;
+        
+        @SuppressWarnings("unchecked")
+        private AliasTable(List<WeightedEntry<T>> entries, int total) {
+            
+            final int size = entries.size();
+            this.entries = entries.toArray(new WeightedEntry[size]);
+            this.probability = new int[size];
+            this.alias = new int[size];
+            this.total = total;
+            
+            // Weights are scaled by the amount of entries so the average column is exactly
+            // equal to the total weight. Longs are used to avoid overflow while scaling.
+            final long[] scaled = new long[size];
+            final int[] small = new int[size];
+            final int[] large = new int[size];
+            int smallCount = 0;
+            int largeCount = 0;
+            
+            for (int i = 0; i < size; i++) {
+                
+                scaled[i] = (long) this.entries[i].getWeight() * size;
+                
+                if (scaled[i] < total) {
+                    small[smallCount++] = i;
+                }
+                
+                else {
+                    large[largeCount++] = i;
+                }
+            }
+            
+            while (smallCount > 0 && largeCount > 0) {
+                
+                final int less = small[--smallCount];
+                final int more = large[--largeCount];
+                
+                this.probability[less] = (int) scaled[less];
+                this.alias[less] = more;
+                
+                scaled[more] = scaled[more] + scaled[less] - total;
+                
+                if (scaled[more] < total) {
+                    small[smallCount++] = more;
+                }
+                
+                else {
+                    large[largeCount++] = more;
+                }
+            }
+            
+            // Any remaining columns are completely filled by their own entry.
+            while (largeCount > 0) {
+                
+                final int index = large[--largeCount];
+                this.probability[index] = total;
+                this.alias[index] = index;
+            }
+            
+            while (smallCount > 0) {
+                
+                final int index = small[--smallCount];
+                this.probability[index] = total;
+                this.alias[index] = index;
+            }
+        }
+        
+        /**
+         * Randomly selects an entry from the table.
+         *
+         * @param rand An instance of random used to weight things.
+         * @return The weighted entry that was selected.
+         */
+        @Nullable
+        public WeightedEntry<T> getRandomEntry (Random rand) {
+            
+            if (this.entries.length == 0) {
+                
+                return null;
+            }
+            
+            return this.entries[this.nextIndex(rand)];
+        }
+        
+        /**
+         * Randomly selects several entries from the table and passes their values to a
+         * consumer.
+         *
+         * @param rand An instance of random used to weight things.
+         * @param count The amount of entries to draw.
+         * @param consumer A consumer that accepts the value of each selected entry.
+         */
+        public void sample (Random rand, int count, Consumer<T> consumer) {
+            
+            if (this.entries.length > 0) {
+                
+                for (int i = 0; i < count; i++) {
+                    
+                    consumer.accept(this.entries[this.nextIndex(rand)].getEntry());
+                }
+            }
+        }
+        
+        /**
+         * Gets the amount of entries held by the table.
+         *
+         * @return The amount of entries held by the table.
+         */
+        public int size () {
+            
+            return this.entries.length;
+        }
+        
+        /**
+         * Gets the total weight of all entries in the table.
+         *
+         * @return The total weight of all entries.
+         */
+        public int getTotalWeight () {
+            
+            return this.total;
+        }
+        
+        private int nextIndex (Random rand) {
+            
+            final int column = rand.nextInt(this.entries.length);
+            return rand.nextInt(this.total) < this.probability[column] ? column : this.alias[column];
+        }
+    }
 }
\ No newline at end of file
@@ -7,8 +7,17 @@
  */
 package net.darkhax.bookshelf.lib;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 import net.darkhax.bookshelf.Bookshelf;
 import net.minecraft.util.ResourceLocation;
@@ -18,15 +27,32 @@ import net.minecraftforge.registries.IForgeRegistryEntry;
  * This class combines the weighted random selector class with some of the features of a forge
  * registry. This hybrid enforces that all entries have a forge registry name, and allows
  * entries to be retrieved accurately using it. It does not fire forge registry events though.
+ * 
+ * Changes to the registry are synchronized and publish a new immutable snapshot of the
+ * entries with a single volatile write. Drawing entries, looking them up by id and listing
+ * the entries only reads the latest snapshot, which allows these to be done from any thread
+ * without locking. Many entries can be registered at once using
+ * {@link #addEntries(Collection)}, which only publishes one snapshot.
  */
 public class WeightedSelectorRegistry<T extends IForgeRegistryEntry<T>> extends WeightedSelector<T> {
     
     /**
      * This map is used to hold an ID to value reference for all entries in the weighted
-     * selector.
+     * selector. This is only accessed by writers while holding the registry lock.
      */
     private final Map<ResourceLocation, T> REGISTRY = new HashMap<>();
     
+    /**
+     * The latest published snapshot of the registry. This is replaced as a whole every time
+     * the registry changes.
+     */
+    private volatile Snapshot<T> snapshot;
+    
+    public WeightedSelectorRegistry() {
+        
+        this.publish();
+    }
+    
     /**
      * Adds an entry and sets it's registry id/name at the same time.
      *
@@ -42,46 +68,185 @@ public class WeightedSelectorRegistry<T extends IForgeRegistryEntry<T>> extends
     }
     
     /**
-     * Gets an entry using it's registry id/name.
+     * Gets an entry using it's registry id/name. This is safe to call from any thread.
      *
      * @param id The registry id/name for the entry you want.
      * @return If the entry was found, you will get it. Otherwise you get null.
      */
+    @Nullable
     public T getValue (ResourceLocation id) {
         
-        return this.REGISTRY.get(id);
+        return this.snapshot.ids.get(id);
     }
     
     @Override
-    public boolean addEntry (T value, int weight) {
+    public synchronized boolean addEntry (WeightedEntry<T> entry) {
         
-        // Prevent invalid registry attempts.
-        if (value.getRegistryName() == null) {
-            
-            Bookshelf.LOG.warn("Attempted to register an item without setting it's ID! This is not allowed.");
-            return false;
+        final boolean added = this.addUnpublished(entry);
+        
+        if (added) {
+            this.publish();
         }
         
-        final boolean added = super.addEntry(value, weight);
+        return added;
+    }
+    
+    /**
+     * Adds many entries to the registry at once. The new snapshot is only built once, after
+     * all of the entries have been added.
+     *
+     * @param entries The entries to add.
+     * @return The number of entries that were added successfully.
+     */
+    public synchronized int addEntries (Collection<WeightedEntry<T>> entries) {
+        
+        int added = 0;
         
-        // If added successfully, store in backup map.
-        if (added) {
-            this.REGISTRY.put(value.getRegistryName(), value);
+        for (final WeightedEntry<T> entry : entries) {
+            
+            if (this.addUnpublished(entry)) {
+                
+                added++;
+            }
+        }
+        
+        if (added > 0) {
+            this.publish();
         }
         
         return added;
     }
     
     @Override
-    public boolean removeEntry (WeightedEntry<T> entry) {
+    public synchronized boolean removeEntry (WeightedEntry<T> entry) {
         
         final boolean removed = super.removeEntry(entry);
         
         // If removed successfully remove from backup map.
         if (removed) {
             this.REGISTRY.remove(entry.getEntry().getRegistryName());
+            this.publish();
         }
         
         return removed;
     }
-}
+    
+    /**
+     * Gets an immutable list of the entries in the latest snapshot. This is safe to call from
+     * any thread. Unlike the base selector the list can not be changed, entries should be
+     * added and removed through the registry instead.
+     *
+     * @return An immutable list of weighted entries.
+     */
+    @Override
+    public List<WeightedEntry<T>> getEntries () {
+        
+        return this.snapshot.entries;
+    }
+    
+    /**
+     * Updates the total weight and rebuilds the id map from the current entries.
+     */
+    @Override
+    public synchronized int updateTotal () {
+        
+        final int total = super.updateTotal();
+        
+        this.REGISTRY.clear();
+        
+        for (final WeightedEntry<T> entry : super.getEntries()) {
+            this.REGISTRY.put(entry.getEntry().getRegistryName(), entry.getEntry());
+        }
+        
+        this.publish();
+        return total;
+    }
+    
+    @Nullable
+    @Override
+    public WeightedEntry<T> getRandomEntry (Random rand) {
+        
+        return this.snapshot.table.getRandomEntry(rand);
+    }
+    
+    @Override
+    public void sample (Random rand, int count, Consumer<T> consumer) {
+        
+        this.snapshot.table.sample(rand, count, consumer);
+    }
+    
+    @Override
+    public AliasTable<T> getCompiled () {
+        
+        return this.snapshot.table;
+    }
+    
+    @Override
+    public int getTotalWeight () {
+        
+        return this.snapshot.table.getTotalWeight();
+    }
+    
+    /**
+     * Adds an entry without publishing a new snapshot. This must only be called while holding
+     * the registry lock.
+     *
+     * @param entry The entry to add.
+     * @return Whether or not the entry was added successfully.
+     */
+    private boolean addUnpublished (WeightedEntry<T> entry) {
+        
+        // Prevent invalid registry attempts.
+        if (entry.getEntry().getRegistryName() == null) {
+            
+            Bookshelf.LOG.warn("Attempted to register an item without setting it's ID! This is not allowed.");
+            return false;
+        }
+        
+        final boolean added = super.addEntry(entry);
+        
+        // If added successfully, store in backup map.
+        if (added) {
+            this.REGISTRY.put(entry.getEntry().getRegistryName(), entry.getEntry());
+        }
+        
+        return added;
+    }
+    
+    /**
+     * Builds a new snapshot from the current state of the registry and makes it visible to
+     * readers. This must only be called while holding the registry lock.
+     */
+    private void publish () {
+        
+        this.snapshot = new Snapshot<>(super.getCompiled(), ImmutableList.copyOf(super.getEntries()), ImmutableMap.copyOf(this.REGISTRY));
+    }
+    
+    /**
+     * An immutable view of the registry at a point in time.
+     */
+    private static final class Snapshot<T> {
+        
+        /**
+         * The compiled table used to draw entries.
+         */
+        private final AliasTable<T> table;
+        
+        /**
+         * An immutable list of the entries.
+         */
+        private final List<WeightedEntry<T>> entries;
+        
+        /**
+         * An immutable map of ids to their values.
+         */
+        private final Map<ResourceLocation, T> ids;
+        
+        private Snapshot(AliasTable<T> table, List<WeightedEntry<T>> entries, Map<ResourceLocation, T> ids) {
+            
+            this.table = table;
+            this.entries = entries;
+            this.ids = ids;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package net.darkhax.bookshelf.lib.function;
+
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import net.darkhax.bookshelf.lib.TagGeneration;
+
+/**
+ * A supplier that caches the value of another supplier until tags are reloaded. The value is
+ * rebuilt lazily the first time it is requested after the {@link TagGeneration} changes. This
+ * is safe to use from multiple threads, and only one thread will rebuild the value at a time.
+ *
+ * @param <T> The type of value returned by the supplier.
+ */
+public class TagCachedSupplier<T> implements Supplier<T> {
+    
+    /**
+     * The supplier used to build the cached value.
+     */
+    private final Supplier<T> builder;
+    
+    /**
+     * The current cached value, and the tag generation it was built in. This is null until the
+     * value is first requested or after it has been invalidated.
+     */
+    @Nullable
+    private volatile Entry<T> entry;
+    
+    public TagCachedSupplier(Supplier<T> builder) {
+        
+        this.builder = builder;
+    }
+    
+    @Override
+    public T get () {
+        
+        final Entry<T> existing = this.entry;
+        
+        if (existing != null && existing.generation == TagGeneration.get()) {
+            
+            return existing.value;
+        }
+        
+        return this.rebuild();
+    }
+    
+    /**
+     * Discards the cached value. It will be rebuilt the next time it is requested.
+     */
+    public void invalidate () {
+        
+        this.entry = null;
+    }
+    
+    private synchronized T rebuild () {
+        
+        // Another thread may have rebuilt the value while this one was waiting.
+        final int generation = TagGeneration.get();
+        final Entry<T> existing = this.entry;
+        
+        if (existing != null && existing.generation == generation) {
+            
+            return existing.value;
+        }
+        
+        final T value = this.builder.get();
+        this.entry = new Entry<>(generation, value);
+        return value;
+    }
+    
+    private static final class Entry<T> {
+        
+        private final int generation;
+        private final T value;
+        
+        private Entry(int generation, T value) {
+            
+            this.generation = generation;
+            this.value = value;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,321 @@
+package net.darkhax.bookshelf.loot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSerializationContext;
+
+import net.darkhax.bookshelf.lib.TableBuilder;
+import net.minecraft.item.ItemStack;
+import net.minecraft.loot.ILootSerializer;
+import net.minecraft.loot.LootConditionType;
+import net.minecraft.loot.LootContext;
+import net.minecraft.loot.LootParameter;
+import net.minecraft.loot.ValidationTracker;
+import net.minecraft.loot.conditions.ILootCondition;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.loot.GlobalLootModifierSerializer;
+import net.minecraftforge.common.loot.IGlobalLootModifier;
+
+/**
+ * An opt-in profiler for loot conditions and loot modifiers. Serializers that are wrapped by
+ * this class produce conditions and modifiers that record how often they are used, how long
+ * they take, and how often conditions pass. Nothing is recorded unless profiling has been
+ * enabled, and the counters are striped so profiling from multiple threads stays cheap.
+ *
+ * Conditions and modifiers are only wrapped when they are loaded while profiling is enabled,
+ * so data packs must be reloaded for profiling to take effect. While profiling, the loaded
+ * instances are wrappers rather than the real types. Code that needs the real instance can
+ * use {@link #unwrap(ILootCondition)} or {@link #unwrap(IGlobalLootModifier)}.
+ */
+public final class LootProfiler {
+    
+    /**
+     * The recorded entries, keyed by kind and name.
+     */
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+    
+    /**
+     * Whether or not profiling is currently enabled.
+     */
+    private static volatile boolean enabled = false;
+    
+    private LootProfiler() {
+        
+    }
+    
+    /**
+     * Checks if profiling is currently enabled.
+     *
+     * @return Whether or not profiling is enabled.
+     */
+    public static boolean isEnabled () {
+        
+        return enabled;
+    }
+    
+    /**
+     * Enables or disables profiling. Existing results are kept.
+     *
+     * @param enable Whether or not profiling should be enabled.
+     */
+    public static void setEnabled (boolean enable) {
+        
+        enabled = enable;
+    }
+    
+    /**
+     * Discards all recorded results.
+     */
+    public static void reset () {
+        
+        ENTRIES.clear();
+    }
+    
+    /**
+     * Gets all recorded entries, sorted by the total time spent in them.
+     *
+     * @return A list of recorded entries.
+     */
+    public static List<Entry> getEntries () {
+        
+        final List<Entry> entries = new ArrayList<>(ENTRIES.values());
+        entries.sort(Comparator.comparingLong(Entry::getNanos).reversed());
+        return entries;
+    }
+    
+    /**
+     * Creates a table of all recorded entries.
+     *
+     * @return A table of all recorded entries.
+     */
+    public static TableBuilder<Entry> createTable () {
+        
+        final TableBuilder<Entry> table = new TableBuilder<>();
+        table.addColumn("Name", Entry::getName);
+        table.addColumn("Kind", Entry::getKind);
+        table.addColumn("Calls", Entry::getCalls);
+        table.addColumn("Pass %", e -> String.format("%.1f", e.getCalls() > 0 ? 100d * e.getPasses() / e.getCalls() : 0d));
+        table.addColumn("Total ms", e -> String.format("%.3f", e.getNanos() / 1_000_000d));
+        table.addColumn("Avg ns", e -> e.getCalls() > 0 ? e.getNanos() / e.getCalls() : 0);
+        getEntries().forEach(table::addEntry);
+        return table;
+    }
+    
+    /**
+     * Gets the real condition behind a condition that may be wrapped for profiling.
+     *
+     * @param condition The condition to unwrap.
+     * @return The real condition.
+     */
+    public static ILootCondition unwrap (ILootCondition condition) {
+        
+        return condition instanceof ProfiledCondition ? ((ProfiledCondition) condition).delegate : condition;
+    }
+    
+    /**
+     * Gets the real modifier behind a modifier that may be wrapped for profiling.
+     *
+     * @param modifier The modifier to unwrap.
+     * @return The real modifier.
+     */
+    public static IGlobalLootModifier unwrap (IGlobalLootModifier modifier) {
+        
+        return modifier instanceof ProfiledModifier ? ((ProfiledModifier) modifier).delegate : modifier;
+    }
+    
+    private static Entry getEntry (String name, String kind) {
+        
+        return ENTRIES.computeIfAbsent(kind + "/" + name, key -> new Entry(name, kind));
+    }
+    
+    /**
+     * Wraps a loot condition serializer so the conditions it reads are profiled. Conditions
+     * read while profiling is disabled are returned as is.
+     *
+     * @param <T> The type of condition.
+     * @param name The name to record the conditions under.
+     * @param serializer The serializer to wrap.
+     * @return A serializer that reads profiled conditions.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends ILootCondition> ILootSerializer<ILootCondition> wrap (String name, ILootSerializer<T> serializer) {
+        
+        return new ILootSerializer<ILootCondition>() {
+            
+            @Override
+            public void serialize (JsonObject json, ILootCondition value, JsonSerializationContext context) {
+                
+                serializer.serialize(json, (T) unwrap(value), context);
+            }
+            
+            @Override
+            public ILootCondition deserialize (JsonObject json, JsonDeserializationContext context) {
+                
+                final T condition = serializer.deserialize(json, context);
+                return enabled ? new ProfiledCondition(condition, getEntry(name, "condition")) : condition;
+            }
+        };
+    }
+    
+    /**
+     * Wraps a loot modifier serializer so the modifiers it reads are profiled. Modifiers are
+     * recorded under the id of the modifier file that defines them. Modifiers read while
+     * profiling is disabled are returned as is.
+     *
+     * @param <T> The type of modifier.
+     * @param serializer The serializer to wrap.
+     * @return A serializer that reads profiled modifiers.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends IGlobalLootModifier> GlobalLootModifierSerializer<IGlobalLootModifier> wrap (GlobalLootModifierSerializer<T> serializer) {
+        
+        return new GlobalLootModifierSerializer<IGlobalLootModifier>() {
+            
+            @Override
+            public IGlobalLootModifier read (ResourceLocation location, JsonObject object, ILootCondition[] conditions) {
+                
+                final T modifier = serializer.read(location, object, conditions);
+                return enabled ? new ProfiledModifier(modifier, getEntry(location.toString(), "modifier")) : modifier;
+            }
+            
+            @Override
+            public JsonObject write (IGlobalLootModifier instance) {
+                
+                return serializer.write((T) unwrap(instance));
+            }
+        };
+    }
+    
+    /**
+     * The recorded results for a single condition or modifier.
+     */
+    public static final class Entry {
+        
+        private final String name;
+        private final String kind;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder passes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        
+        private Entry(String name, String kind) {
+            
+            this.name = name;
+            this.kind = kind;
+        }
+        
+        private void record (boolean passed, long time) {
+            
+            this.calls.increment();
+            this.nanos.add(time);
+            
+            if (passed) {
+                
+                this.passes.increment();
+            }
+        }
+        
+        public String getName () {
+            
+            return this.name;
+        }
+        
+        public String getKind () {
+            
+            return this.kind;
+        }
+        
+        public long getCalls () {
+            
+            return this.calls.sum();
+        }
+        
+        public long getPasses () {
+            
+            return this.passes.sum();
+        }
+        
+        public long getNanos () {
+            
+            return this.nanos.sum();
+        }
+    }
+    
+    private static final class ProfiledCondition implements ILootCondition {
+        
+        private final ILootCondition delegate;
+        private final Entry entry;
+        
+        private ProfiledCondition(ILootCondition delegate, Entry entry) {
+            
+            this.delegate = delegate;
+            this.entry = entry;
+        }
+        
+        @Override
+        public boolean test (LootContext ctx) {
+            
+            if (!enabled) {
+                
+                return this.delegate.test(ctx);
+            }
+            
+            final long start = System.nanoTime();
+            final boolean result = this.delegate.test(ctx);
+            this.entry.record(result, System.nanoTime() - start);
+            return result;
+        }
+        
+        @Override
+        public LootConditionType getType () {
+            
+            return this.delegate.getType();
+        }
+        
+        @Override
+        public Set<LootParameter<?>> getReferencedContextParams () {
+            
+            return this.delegate.getReferencedContextParams();
+        }
+        
+        @Override
+        public void validate (ValidationTracker tracker) {
+            
+            this.delegate.validate(tracker);
+        }
+    }
+    
+    private static final class ProfiledModifier implements IGlobalLootModifier {
+        
+        private final IGlobalLootModifier delegate;
+        private final Entry entry;
+        
+        private ProfiledModifier(IGlobalLootModifier delegate, Entry entry) {
+            
+            this.delegate = delegate;
+            this.entry = entry;
+        }
+        
+        @Override
+        public List<ItemStack> apply (List<ItemStack> generatedLoot, LootContext context) {
+            
+            if (!enabled) {
+                
+                return this.delegate.apply(generatedLoot, context);
+            }
+            
+            // Modifiers have no result, so every call is counted as a pass.
+            final long start = System.nanoTime();
+            final List<ItemStack> result = this.delegate.apply(generatedLoot, context);
+            this.entry.record(true, System.nanoTime() - start);
+            return result;
+        }
+    }
+}
\ No newline at end of file
@@ -5,24 +5,19 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
 
 import net.darkhax.bookshelf.Bookshelf;
+import net.darkhax.bookshelf.lib.BiomeTypeCache;
 import net.minecraft.loot.ILootSerializer;
 import net.minecraft.loot.LootConditionType;
 import net.minecraft.loot.LootContext;
-import net.minecraft.loot.LootParameters;
-import net.minecraft.loot.conditions.ILootCondition;
 import net.minecraft.util.JSONUtils;
-import net.minecraft.util.RegistryKey;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.vector.Vector3d;
-import net.minecraft.util.registry.Registry;
 import net.minecraft.world.biome.Biome;
-import net.minecraftforge.common.BiomeDictionary;
 import net.minecraftforge.common.BiomeDictionary.Type;
 
 /**
  * A loot condition that checks the biome dictionary tags of the current biome.
  */
-public class CheckBiomeTag implements ILootCondition {
+public class CheckBiomeTag extends LootConditionPositional {
     
     /**
      * The serializer for this function.
@@ -34,28 +29,24 @@ public class CheckBiomeTag implements ILootCondition {
      */
     private final Type biomeType;
     
+    /**
+     * The bit index of the biome type in {@link BiomeTypeCache}.
+     */
+    private final int typeIndex;
+    
     public CheckBiomeTag(Type type) {
         
+        super(CacheScope.BLOCK);
         this.biomeType = type;
+        this.typeIndex = BiomeTypeCache.getIndex(type);
     }
     
     @Override
-    public boolean test (LootContext ctx) {
-        
-        final Vector3d pos = ctx.getParamOrNull(LootParameters.ORIGIN);
+    protected boolean testPosition (LootContext ctx, BlockPos pos) {
         
-        if (pos != null) {
-            
-            final Biome biome = ctx.getLevel().getBiome(new BlockPos(pos));
-            
-            if (biome != null) {
-                
-                final RegistryKey<Biome> biomeKey = RegistryKey.create(Registry.BIOME_REGISTRY, biome.getRegistryName());
-                return BiomeDictionary.hasType(biomeKey, this.biomeType);
-            }
-        }
+        final Biome biome = ctx.getLevel().getBiome(pos);
         
-        return false;
+        return biome != null && BiomeTypeCache.hasType(biome, this.typeIndex);
     }
     
     @Override
@@ -9,16 +9,13 @@ import net.minecraft.advancements.criterion.MinMaxBounds.IntBound;
 import net.minecraft.loot.ILootSerializer;
 import net.minecraft.loot.LootConditionType;
 import net.minecraft.loot.LootContext;
-import net.minecraft.loot.LootParameters;
-import net.minecraft.loot.conditions.ILootCondition;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.vector.Vector3d;
 
 /**
  * This loot condition checks if the position the loot is being generated at has redstone
  * power.
  */
-public class CheckPower implements ILootCondition {
+public class CheckPower extends LootConditionPositional {
     
     /**
      * The serializer for this function.
@@ -29,20 +26,14 @@ public class CheckPower implements ILootCondition {
     
     public CheckPower(IntBound power) {
         
+        super(CacheScope.BLOCK);
         this.power = power;
     }
     
     @Override
-    public boolean test (LootContext ctx) {
+    protected boolean testPosition (LootContext ctx, BlockPos pos) {
         
-        final Vector3d pos = ctx.getParamOrNull(LootParameters.ORIGIN);
-        
-        if (pos != null) {
-            
-            return this.power.matches(ctx.getLevel().getBestNeighborSignal(new BlockPos(pos)));
-        }
-        
-        return false;
+        return this.power.matches(ctx.getLevel().getBestNeighborSignal(pos));
     }
     
     @Override
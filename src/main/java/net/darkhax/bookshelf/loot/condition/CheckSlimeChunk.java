@@ -20,7 +20,7 @@ public class CheckSlimeChunk extends LootConditionPositional {
     
     private CheckSlimeChunk() {
         
-        super(CheckSlimeChunk::test);
+        super(CheckSlimeChunk::test, CacheScope.CHUNK);
     }
     
     private static boolean test (LootContext ctx, BlockPos pos) {
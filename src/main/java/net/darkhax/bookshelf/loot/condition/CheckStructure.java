@@ -1,5 +1,7 @@
 package net.darkhax.bookshelf.loot.condition;
 
+import javax.annotation.Nullable;
+
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
@@ -9,17 +11,14 @@ import net.darkhax.bookshelf.util.WorldUtils;
 import net.minecraft.loot.ILootSerializer;
 import net.minecraft.loot.LootConditionType;
 import net.minecraft.loot.LootContext;
-import net.minecraft.loot.LootParameters;
-import net.minecraft.loot.conditions.ILootCondition;
 import net.minecraft.util.JSONUtils;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.world.gen.feature.structure.Structure;
 
 /**
  * A loot condition for checking if it is inside a structure.
  */
-public class CheckStructure implements ILootCondition {
+public class CheckStructure extends LootConditionPositional {
     
     /**
      * The serializer for this function.
@@ -34,24 +33,25 @@ public class CheckStructure implements ILootCondition {
     /**
      * The structure being checked for. This is lazy loaded by {@link #loadStructure()}.
      */
+    @Nullable
     private Structure<?> structure;
     
+    /**
+     * Whether or not the structure has been looked up. This is set even when the structure does
+     * not exist so the lookup and error are not repeated.
+     */
+    private volatile boolean resolved;
+    
     public CheckStructure(String structureName) {
         
+        super(CacheScope.BLOCK);
         this.structureName = structureName;
     }
     
     @Override
-    public boolean test (LootContext ctx) {
-        
-        final Vector3d pos = ctx.getParamOrNull(LootParameters.ORIGIN);
-        
-        if (pos != null && this.loadStructure()) {
-            
-            return WorldUtils.isInStructure(ctx.getLevel(), new BlockPos(pos), this.structure);
-        }
+    protected boolean testPosition (LootContext ctx, BlockPos pos) {
         
-        return false;
+        return this.loadStructure() && WorldUtils.isInStructure(ctx.getLevel(), pos, this.structure);
     }
     
     @Override
@@ -62,18 +62,27 @@ public class CheckStructure implements ILootCondition {
     
     private boolean loadStructure () {
         
-        if (this.structure == null) {
+        if (!this.resolved) {
+            
+            this.resolveStructure();
+        }
+        
+        return this.structure != null;
+    }
+    
+    private synchronized void resolveStructure () {
+        
+        if (!this.resolved) {
             
             this.structure = Structure.STRUCTURES_REGISTRY.get(this.structureName);
             
             if (this.structure == null) {
                 
                 Bookshelf.LOG.error("Loot table condition is looking for structure {} which doesn't exist.", this.structureName);
-                return false;
             }
+            
+            this.resolved = true;
         }
-        
-        return true;
     }
     
     static class Serializer implements ILootSerializer<CheckStructure> {
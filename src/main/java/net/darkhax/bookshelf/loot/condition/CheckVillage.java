@@ -19,7 +19,7 @@ public class CheckVillage extends LootConditionPositional {
     
     private CheckVillage() {
         
-        super(CheckVillage::test);
+        super(CheckVillage::test, CacheScope.BLOCK);
     }
     
     private static boolean test (LootContext ctx, BlockPos pos) {
@@ -2,32 +2,164 @@ package net.darkhax.bookshelf.loot.condition;
 
 import java.util.function.BiPredicate;
 
+import javax.annotation.Nullable;
+
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
 import net.minecraft.loot.LootContext;
 import net.minecraft.loot.LootParameters;
 import net.minecraft.loot.conditions.ILootCondition;
+import net.minecraft.util.RegistryKey;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.vector.Vector3d;
+import net.minecraft.world.World;
 
 /**
  * The base class for a loot condition that requires a world position. If no position is found
  * the test will fail.
+ *
+ * Conditions that only depend on the position can opt into a result cache by providing a
+ * {@link CacheScope}. Results are remembered for the rest of the current game tick, so many
+ * rolls in the same area only need to query the world once.
  */
 public abstract class LootConditionPositional implements ILootCondition {
     
+    /**
+     * The maximum number of results to cache in a single tick.
+     */
+    private static final int CACHE_LIMIT = 512;
+    
+    private static final byte UNKNOWN = -1;
+    
     /**
      * The predicate to apply at the given position.
      */
+    @Nullable
     private final BiPredicate<LootContext, BlockPos> predicate;
     
+    /**
+     * How results of this condition are cached.
+     */
+    private final CacheScope scope;
+    
+    /**
+     * Results for the current tick, keyed by block or chunk position.
+     */
+    private final Long2ByteOpenHashMap cache = new Long2ByteOpenHashMap();
+    
+    /**
+     * The dimension and game tick the cached results belong to.
+     */
+    @Nullable
+    private RegistryKey<World> cacheDimension;
+    private long cacheTick;
+    
     public LootConditionPositional(BiPredicate<LootContext, BlockPos> predicate) {
         
+        this(predicate, CacheScope.NONE);
+    }
+    
+    public LootConditionPositional(BiPredicate<LootContext, BlockPos> predicate, CacheScope scope) {
+        
         this.predicate = predicate;
+        this.scope = scope;
+        this.cache.defaultReturnValue(UNKNOWN);
+    }
+    
+    /**
+     * Constructor for conditions that override {@link #testPosition(LootContext, BlockPos)}
+     * instead of providing a predicate.
+     *
+     * @param scope How results of this condition are cached.
+     */
+    protected LootConditionPositional(CacheScope scope) {
+        
+        this.predicate = null;
+        this.scope = scope;
+        this.cache.defaultReturnValue(UNKNOWN);
     }
     
     @Override
     public boolean test (LootContext ctx) {
         
-        final Vector3d pos = ctx.getParamOrNull(LootParameters.ORIGIN);
-        return pos != null && this.predicate.test(ctx, new BlockPos(pos));
+        final Vector3d origin = ctx.getParamOrNull(LootParameters.ORIGIN);
+        
+        if (origin == null) {
+            
+            return false;
+        }
+        
+        final BlockPos pos = new BlockPos(origin);
+        
+        if (this.scope == CacheScope.NONE) {
+            
+            return this.testPosition(ctx, pos);
+        }
+        
+        final World world = ctx.getLevel();
+        final long key = this.scope == CacheScope.CHUNK ? ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4) : pos.asLong();
+        
+        synchronized (this.cache) {
+            
+            if (this.cacheDimension != world.dimension() || this.cacheTick != world.getGameTime() || this.cache.size() >= CACHE_LIMIT) {
+                
+                this.cache.clear();
+                this.cacheDimension = world.dimension();
+                this.cacheTick = world.getGameTime();
+            }
+            
+            final byte cached = this.cache.get(key);
+            
+            if (cached != UNKNOWN) {
+                
+                return cached == 1;
+            }
+        }
+        
+        final boolean result = this.testPosition(ctx, pos);
+        
+        synchronized (this.cache) {
+            
+            if (this.cacheDimension == world.dimension() && this.cacheTick == world.getGameTime()) {
+                
+                this.cache.put(key, result ? (byte) 1 : (byte) 0);
+            }
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Tests the condition at a position. Conditions that use a cache scope should only look at
+     * the world and position.
+     *
+     * @param ctx The loot context.
+     * @param pos The position loot is being generated at.
+     * @return Whether or not the condition passed.
+     */
+    protected boolean testPosition (LootContext ctx, BlockPos pos) {
+        
+        return this.predicate != null && this.predicate.test(ctx, pos);
+    }
+    
+    /**
+     * The granularity used to cache the results of a positional condition.
+     */
+    public enum CacheScope {
+        
+        /**
+         * Results are not cached.
+         */
+        NONE,
+        
+        /**
+         * Results are cached for each block position.
+         */
+        BLOCK,
+        
+        /**
+         * Results are cached for each chunk.
+         */
+        CHUNK;
     }
 }
\ No newline at end of file
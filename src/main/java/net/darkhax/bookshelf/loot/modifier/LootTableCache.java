@@ -0,0 +1,39 @@
+package net.darkhax.bookshelf.loot.modifier;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.darkhax.bookshelf.lib.function.TagCachedSupplier;
+import net.minecraft.loot.LootTable;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.ResourceLocation;
+
+/**
+ * Caches loot tables that have been resolved by a loot modifier so they don't need to be
+ * looked up every time the modifier is applied. Tags are reloaded along with every data pack
+ * reload, so the cache is discarded whenever the tag generation changes.
+ */
+public final class LootTableCache {
+    
+    private final TagCachedSupplier<Map<ResourceLocation, LootTable>> tables = new TagCachedSupplier<>(ConcurrentHashMap::new);
+    
+    /**
+     * Gets a loot table, resolving it through the server if it has not been cached yet.
+     *
+     * @param server The server to resolve tables from.
+     * @param id The id of the loot table.
+     * @return The loot table. Missing tables resolve to {@link LootTable#EMPTY}.
+     */
+    public LootTable get (MinecraftServer server, ResourceLocation id) {
+        
+        return this.tables.get().computeIfAbsent(id, key -> server.getLootTables().get(key));
+    }
+    
+    /**
+     * Discards all cached loot tables.
+     */
+    public void invalidate () {
+        
+        this.tables.invalidate();
+    }
+}
\ No newline at end of file
@@ -23,6 +23,8 @@ public class ModifierConvert extends LootModifier {
     
     private final float chance;
     
+    private final LootTableCache tables = new LootTableCache();
+    
     public ModifierConvert(ILootCondition[] conditions, ResourceLocation table, float chance) {
         
         super(conditions);
@@ -36,7 +38,7 @@ public class ModifierConvert extends LootModifier {
         
         final List<ItemStack> outputs = NonNullList.create();
         
-        final LootTable table = ctx.getLevel().getServer().getLootTables().get(this.tableName);
+        final LootTable table = this.tables.get(ctx.getLevel().getServer(), this.tableName);
         
         for (final ItemStack item : loot) {
             
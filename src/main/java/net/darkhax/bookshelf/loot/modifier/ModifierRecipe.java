@@ -1,21 +1,31 @@
 package net.darkhax.bookshelf.loot.modifier;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.JsonObject;
 
 import net.darkhax.bookshelf.Bookshelf;
+import net.darkhax.bookshelf.util.RecipeUtils;
 import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.item.crafting.IRecipeType;
 import net.minecraft.loot.LootContext;
 import net.minecraft.loot.conditions.ILootCondition;
+import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.World;
 import net.minecraftforge.common.loot.GlobalLootModifierSerializer;
 import net.minecraftforge.common.loot.LootModifier;
 
@@ -34,8 +44,26 @@ public class ModifierRecipe extends LootModifier {
     public static final GlobalLootModifierSerializer STONECUT = createModifier(conditions -> new ModifierRecipe(conditions, IRecipeType.STONECUTTING));
     public static final GlobalLootModifierSerializer SMITHING = createModifier(conditions -> new ModifierRecipe(conditions, IRecipeType.SMITHING));
     
+    /**
+     * The maximum number of distinct inputs to remember. The least recently used inputs are
+     * evicted once this is reached.
+     */
+    private static final int MEMO_LIMIT = 1024;
+    
     private final IRecipeType recipeType;
     
+    /**
+     * A memo of the recipes that match each distinct input. This is cleared when the recipes
+     * are reloaded.
+     */
+    private final Cache<InputKey, List<IRecipe>> memo = CacheBuilder.newBuilder().maximumSize(MEMO_LIMIT).build();
+    
+    /**
+     * The recipe map the memo was built from. Reloading recipes replaces this map.
+     */
+    @Nullable
+    private volatile Map<ResourceLocation, ?> memoSource;
+    
     public ModifierRecipe(ILootCondition[] conditions, IRecipeType type) {
         
         super(conditions);
@@ -46,14 +74,21 @@ public class ModifierRecipe extends LootModifier {
     @Override
     public List<ItemStack> doApply (List<ItemStack> loot, LootContext ctx) {
         
-        return loot.stream().map(stack -> this.craft(stack, ctx)).collect(Collectors.toList());
+        // Identical stacks in the same roll only need their recipes resolved once.
+        final Map<InputKey, List<IRecipe>> resolved = new HashMap<>();
+        return loot.stream().map(stack -> this.craft(stack, ctx, resolved)).collect(Collectors.toList());
     }
     
-    private ItemStack craft (ItemStack stack, LootContext ctx) {
+    private ItemStack craft (ItemStack stack, LootContext ctx, Map<InputKey, List<IRecipe>> resolved) {
+        
+        if (stack.isEmpty()) {
+            
+            return stack;
+        }
         
         try {
             
-            final List<IRecipe> matchingRecipes = ctx.getLevel().getRecipeManager().getRecipesFor(this.recipeType, new Inventory(stack), ctx.getLevel());
+            final List<IRecipe> matchingRecipes = resolved.computeIfAbsent(new InputKey(stack), key -> this.getMatchingRecipes(key, stack, ctx.getLevel()));
             
             if (!matchingRecipes.isEmpty()) {
                 
@@ -65,7 +100,7 @@ public class ModifierRecipe extends LootModifier {
                     
                     if (output != null && !output.isEmpty()) {
                         
-                        return output;
+                        return output.copy();
                     }
                 }
             }
@@ -80,6 +115,27 @@ public class ModifierRecipe extends LootModifier {
         return stack;
     }
     
+    private List<IRecipe> getMatchingRecipes (InputKey key, ItemStack stack, World world) {
+        
+        final Map<ResourceLocation, ?> recipes = RecipeUtils.getRecipes(this.recipeType, world.getRecipeManager());
+        
+        if (this.memoSource != recipes) {
+            
+            this.memo.invalidateAll();
+            this.memoSource = recipes;
+        }
+        
+        List<IRecipe> matches = this.memo.getIfPresent(key);
+        
+        if (matches == null) {
+            
+            matches = RecipeUtils.getRecipesFor(world, this.recipeType, new Inventory(stack), stack);
+            this.memo.put(key.copy(), matches);
+        }
+        
+        return matches;
+    }
+    
     public static GlobalLootModifierSerializer<ModifierRecipe> createModifier (Function<ILootCondition[], ModifierRecipe> function) {
         
         return new GlobalLootModifierSerializer<ModifierRecipe>() {
@@ -97,4 +153,59 @@ public class ModifierRecipe extends LootModifier {
             }
         };
     }
+    
+    /**
+     * A key for a distinct recipe input, made from the item and its NBT. The hash of the NBT is
+     * computed once when the key is created. Keys made from a stack use the live NBT of that
+     * stack, so they are only used for lookups. Keys stored in the memo are copied first.
+     */
+    private static final class InputKey {
+        
+        private final Item item;
+        
+        @Nullable
+        private final CompoundNBT tag;
+        
+        private final int hash;
+        
+        private InputKey(ItemStack stack) {
+            
+            this(stack.getItem(), stack.getTag(), 31 * System.identityHashCode(stack.getItem()) + Objects.hashCode(stack.getTag()));
+        }
+        
+        private InputKey(Item item, @Nullable CompoundNBT tag, int hash) {
+            
+            this.item = item;
+            this.tag = tag;
+            this.hash = hash;
+        }
+        
+        private InputKey copy () {
+            
+            return this.tag == null ? this : new InputKey(this.item, this.tag.copy(), this.hash);
+        }
+        
+        @Override
+        public int hashCode () {
+            
+            return this.hash;
+        }
+        
+        @Override
+        public boolean equals (Object obj) {
+            
+            if (this == obj) {
+                
+                return true;
+            }
+            
+            if (!(obj instanceof InputKey)) {
+                
+                return false;
+            }
+            
+            final InputKey other = (InputKey) obj;
+            return this.item == other.item && this.hash == other.hash && Objects.equals(this.tag, other.tag);
+        }
+    }
 }
\ No newline at end of file
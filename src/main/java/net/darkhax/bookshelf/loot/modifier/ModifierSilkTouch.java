@@ -38,6 +38,8 @@ public class ModifierSilkTouch extends LootModifier {
         }
     };
     
+    private final LootTableCache tables = new LootTableCache();
+    
     private ModifierSilkTouch(ILootCondition[] conditionsIn) {
         
         super(conditionsIn);
@@ -58,7 +60,7 @@ public class ModifierSilkTouch extends LootModifier {
             builder.withParameter(LootParameters.TOOL, fakeTool);
             
             final LootContext fakeContext = builder.create(LootParameterSets.BLOCK);
-            final LootTable table = context.getLevel().getServer().getLootTables().get(context.getParamOrNull(LootParameters.BLOCK_STATE).getBlock().getLootTable());
+            final LootTable table = this.tables.get(context.getLevel().getServer(), context.getParamOrNull(LootParameters.BLOCK_STATE).getBlock().getLootTable());
             return table.getRandomItems(fakeContext);
         }
         
@@ -6,6 +6,7 @@ import com.google.gson.JsonParseException;
 
 import net.darkhax.bookshelf.crafting.block.BlockIngredient;
 import net.darkhax.bookshelf.crafting.block.IBlockIngredientSerializer;
+import net.minecraft.nbt.INBT;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.ResourceLocation;
 
@@ -86,4 +87,16 @@ public final class BlockIngredientSerializer implements ISerializer<BlockIngredi
         final IBlockIngredientSerializer<T> serializer = (IBlockIngredientSerializer<T>) BlockIngredient.getSerializer(ingredient.getSerializeId());
         serializer.write(buf, ingredient);
     }
+    
+    @Override
+    public INBT writeNBT (BlockIngredient toWrite) {
+        
+        return JsonNBT.toNBT(this.write(toWrite));
+    }
+    
+    @Override
+    public BlockIngredient read (INBT nbt) {
+        
+        return this.read(JsonNBT.fromNBT(nbt));
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -10,12 +11,19 @@ import javax.annotation.Nullable;
 
 import org.apache.commons.lang3.NotImplementedException;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.ListNBT;
 import net.minecraft.network.PacketBuffer;
 
 /**
@@ -25,6 +33,12 @@ import net.minecraft.network.PacketBuffer;
  */
 public interface ISerializer<T> {
     
+    /**
+     * The Gson instance used to write JSON trees to a stream. HTML escaping is disabled and nulls
+     * are kept so the output matches a default {@link JsonWriter}.
+     */
+    Gson STREAM_GSON = new GsonBuilder().disableHtmlEscaping().serializeNulls().create();
+    
     T read (JsonElement json);
     
     default T read (JsonObject json, String memberName) {
@@ -39,10 +53,30 @@ public interface ISerializer<T> {
     
     JsonElement write (T toWrite);
     
+    default T read (JsonReader reader) throws IOException {
+        
+        return this.read(new JsonParser().parse(reader));
+    }
+    
+    default void write (JsonWriter writer, T toWrite) throws IOException {
+        
+        STREAM_GSON.toJson(this.write(toWrite), writer);
+    }
+    
     T read (PacketBuffer buffer);
     
     void write (PacketBuffer buffer, T toWrite);
     
+    default T read (PacketBuffer buffer, PacketFormat format) {
+        
+        return this.read(buffer);
+    }
+    
+    default void write (PacketBuffer buffer, T toWrite, PacketFormat format) {
+        
+        this.write(buffer, toWrite);
+    }
+    
     public default INBT writeNBT (T toWrite) {
         
         throw new NotImplementedException("NBT serialization is not yet implemented for " + this.getClass().getName());
@@ -53,6 +87,58 @@ public interface ISerializer<T> {
         throw new NotImplementedException("NBT serialization is not yet implemented for " + this.getClass().getName());
     }
     
+    default List<T> readList (INBT nbt) {
+        
+        final List<T> list = new ArrayList<>();
+        
+        if (nbt instanceof ListNBT) {
+            
+            for (final INBT element : (ListNBT) nbt) {
+                
+                list.add(this.read(element));
+            }
+        }
+        
+        else {
+            list.add(this.read(nbt));
+        }
+        
+        return list;
+    }
+    
+    default ListNBT writeListNBT (List<T> toWrite) {
+        
+        final ListNBT nbt = new ListNBT();
+        toWrite.forEach(t -> nbt.add(this.writeNBT(t)));
+        return nbt;
+    }
+    
+    default Set<T> readSet (INBT nbt) {
+        
+        final Set<T> set = new HashSet<>();
+        
+        if (nbt instanceof ListNBT) {
+            
+            for (final INBT element : (ListNBT) nbt) {
+                
+                set.add(this.read(element));
+            }
+        }
+        
+        else {
+            set.add(this.read(nbt));
+        }
+        
+        return set;
+    }
+    
+    default ListNBT writeSetNBT (Set<T> toWrite) {
+        
+        final ListNBT nbt = new ListNBT();
+        toWrite.forEach(t -> nbt.add(this.writeNBT(t)));
+        return nbt;
+    }
+    
     default List<T> readList (JsonElement json) {
         
         final List<T> list = new ArrayList<>();
@@ -94,14 +180,54 @@ public interface ISerializer<T> {
         return json;
     }
     
+    default List<T> readList (JsonReader reader) throws IOException {
+        
+        final List<T> list = new ArrayList<>();
+        
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            
+            reader.beginArray();
+            
+            while (reader.hasNext()) {
+                
+                list.add(this.read(reader));
+            }
+            
+            reader.endArray();
+        }
+        
+        else {
+            list.add(this.read(reader));
+        }
+        
+        return list;
+    }
+    
+    default void writeList (JsonWriter writer, List<T> toWrite) throws IOException {
+        
+        writer.beginArray();
+        
+        for (final T t : toWrite) {
+            
+            this.write(writer, t);
+        }
+        
+        writer.endArray();
+    }
+    
     default List<T> readList (PacketBuffer buffer) {
         
-        final int size = buffer.readInt();
+        return this.readList(buffer, PacketFormat.LEGACY);
+    }
+    
+    default List<T> readList (PacketBuffer buffer, PacketFormat format) {
+        
+        final int size = format.readSize(buffer);
         final List<T> list = new ArrayList<>(size);
         
         for (int i = 0; i < size; i++) {
             
-            list.add(this.read(buffer));
+            list.add(this.read(buffer, format));
         }
         
         return list;
@@ -109,8 +235,13 @@ public interface ISerializer<T> {
     
     default void writeList (PacketBuffer buffer, List<T> toWrite) {
         
-        buffer.writeInt(toWrite.size());
-        toWrite.forEach(t -> this.write(buffer, t));
+        this.writeList(buffer, toWrite, PacketFormat.LEGACY);
+    }
+    
+    default void writeList (PacketBuffer buffer, List<T> toWrite, PacketFormat format) {
+        
+        format.writeSize(buffer, toWrite.size());
+        toWrite.forEach(t -> this.write(buffer, t, format));
     }
     
     default Set<T> readSet (JsonElement json) {
@@ -154,14 +285,54 @@ public interface ISerializer<T> {
         return json;
     }
     
+    default Set<T> readSet (JsonReader reader) throws IOException {
+        
+        final Set<T> set = new HashSet<>();
+        
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            
+            reader.beginArray();
+            
+            while (reader.hasNext()) {
+                
+                set.add(this.read(reader));
+            }
+            
+            reader.endArray();
+        }
+        
+        else {
+            set.add(this.read(reader));
+        }
+        
+        return set;
+    }
+    
+    default void writeSet (JsonWriter writer, Set<T> toWrite) throws IOException {
+        
+        writer.beginArray();
+        
+        for (final T t : toWrite) {
+            
+            this.write(writer, t);
+        }
+        
+        writer.endArray();
+    }
+    
     default Set<T> readSet (PacketBuffer buffer) {
         
-        final int size = buffer.readInt();
+        return this.readSet(buffer, PacketFormat.LEGACY);
+    }
+    
+    default Set<T> readSet (PacketBuffer buffer, PacketFormat format) {
+        
+        final int size = format.readSize(buffer);
         final Set<T> set = new HashSet<>(size);
         
         for (int i = 0; i < size; i++) {
             
-            set.add(this.read(buffer));
+            set.add(this.read(buffer, format));
         }
         
         return set;
@@ -169,8 +340,13 @@ public interface ISerializer<T> {
     
     default void writeSet (PacketBuffer buffer, Set<T> toWrite) {
         
-        buffer.writeInt(toWrite.size());
-        toWrite.forEach(t -> this.write(buffer, t));
+        this.writeSet(buffer, toWrite, PacketFormat.LEGACY);
+    }
+    
+    default void writeSet (PacketBuffer buffer, Set<T> toWrite, PacketFormat format) {
+        
+        format.writeSize(buffer, toWrite.size());
+        toWrite.forEach(t -> this.write(buffer, t, format));
     }
     
     default Optional<T> readOptional (JsonObject json, String memberName) {
@@ -180,16 +356,26 @@ public interface ISerializer<T> {
     
     default Optional<T> readOptional (PacketBuffer buffer) {
         
-        return buffer.readBoolean() ? Optional.of(this.read(buffer)) : Optional.empty();
+        return this.readOptional(buffer, PacketFormat.LEGACY);
+    }
+    
+    default Optional<T> readOptional (PacketBuffer buffer, PacketFormat format) {
+        
+        return buffer.readBoolean() ? Optional.of(this.read(buffer, format)) : Optional.empty();
     }
     
     default void writeOptional (PacketBuffer buffer, Optional<T> optional) {
         
+        this.writeOptional(buffer, optional, PacketFormat.LEGACY);
+    }
+    
+    default void writeOptional (PacketBuffer buffer, Optional<T> optional, PacketFormat format) {
+        
         final boolean isPresent = optional.isPresent();
         buffer.writeBoolean(isPresent);
         
         if (isPresent) {
-            this.write(buffer, optional.get());
+            this.write(buffer, optional.get(), format);
         }
     }
     
@@ -0,0 +1,197 @@
+package net.darkhax.bookshelf.serialization;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import net.minecraft.nbt.CollectionNBT;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.DoubleNBT;
+import net.minecraft.nbt.FloatNBT;
+import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.IntNBT;
+import net.minecraft.nbt.ListNBT;
+import net.minecraft.nbt.LongNBT;
+import net.minecraft.nbt.NumberNBT;
+import net.minecraft.nbt.StringNBT;
+
+/**
+ * Converts JSON data to native NBT and back. This is used for types that are only defined by
+ * their JSON form, such as ingredients with custom types.
+ *
+ * NBT has no boolean type, so booleans are stored as strings. Readers that use
+ * {@link JsonElement#getAsBoolean()} or {@link net.minecraft.util.JSONUtils} will still read
+ * them correctly after a round trip. NBT lists can only hold one type of tag. Arrays of mixed
+ * integer sizes are widened to long tags, and arrays of integers and decimals are widened to
+ * double tags. Any other mixed array, or an array containing null, is stored as a compound
+ * holding the JSON string of that array.
+ */
+final class JsonNBT {
+    
+    /**
+     * The key used by compounds that hold raw JSON which could not be stored as NBT.
+     */
+    private static final String RAW_JSON = "bookshelf:json";
+    
+    private JsonNBT() {
+        
+    }
+    
+    static INBT toNBT (JsonElement json) {
+        
+        if (json.isJsonObject()) {
+            
+            final CompoundNBT tag = new CompoundNBT();
+            
+            for (final Entry<String, JsonElement> entry : json.getAsJsonObject().entrySet()) {
+                
+                if (!entry.getValue().isJsonNull()) {
+                    
+                    tag.put(entry.getKey(), toNBT(entry.getValue()));
+                }
+            }
+            
+            return tag;
+        }
+        
+        else if (json.isJsonArray()) {
+            
+            return toListNBT(json.getAsJsonArray());
+        }
+        
+        else if (json.isJsonPrimitive()) {
+            
+            final JsonPrimitive primitive = json.getAsJsonPrimitive();
+            
+            if (primitive.isNumber()) {
+                
+                return toNumberNBT(primitive);
+            }
+            
+            return StringNBT.valueOf(primitive.getAsString());
+        }
+        
+        return toRawJson(json);
+    }
+    
+    static JsonElement fromNBT (INBT nbt) {
+        
+        if (nbt instanceof CompoundNBT) {
+            
+            final CompoundNBT tag = (CompoundNBT) nbt;
+            
+            if (tag.size() == 1 && tag.contains(RAW_JSON, 8)) {
+                
+                return new JsonParser().parse(tag.getString(RAW_JSON));
+            }
+            
+            final JsonObject json = new JsonObject();
+            
+            for (final String key : tag.getAllKeys()) {
+                
+                json.add(key, fromNBT(tag.get(key)));
+            }
+            
+            return json;
+        }
+        
+        else if (nbt instanceof CollectionNBT) {
+            
+            final JsonArray json = new JsonArray();
+            
+            for (final Object element : (CollectionNBT<?>) nbt) {
+                
+                json.add(fromNBT((INBT) element));
+            }
+            
+            return json;
+        }
+        
+        else if (nbt instanceof FloatNBT || nbt instanceof DoubleNBT) {
+            
+            return new JsonPrimitive(((NumberNBT) nbt).getAsDouble());
+        }
+        
+        else if (nbt instanceof NumberNBT) {
+            
+            return new JsonPrimitive(((NumberNBT) nbt).getAsLong());
+        }
+        
+        return new JsonPrimitive(nbt.getAsString());
+    }
+    
+    private static INBT toListNBT (JsonArray json) {
+        
+        final List<INBT> tags = new ArrayList<>(json.size());
+        boolean sameType = true;
+        boolean numeric = true;
+        boolean decimal = false;
+        
+        for (final JsonElement element : json) {
+            
+            if (element.isJsonNull()) {
+                
+                return toRawJson(json);
+            }
+            
+            final INBT tag = toNBT(element);
+            sameType &= tags.isEmpty() || tags.get(0).getId() == tag.getId();
+            numeric &= tag instanceof NumberNBT;
+            decimal |= tag instanceof DoubleNBT;
+            tags.add(tag);
+        }
+        
+        final ListNBT list = new ListNBT();
+        
+        if (sameType) {
+            
+            tags.forEach(list::add);
+        }
+        
+        else if (numeric) {
+            
+            for (final INBT tag : tags) {
+                
+                final NumberNBT number = (NumberNBT) tag;
+                list.add(decimal ? DoubleNBT.valueOf(number.getAsDouble()) : LongNBT.valueOf(number.getAsLong()));
+            }
+        }
+        
+        else {
+            
+            return toRawJson(json);
+        }
+        
+        return list;
+    }
+    
+    private static INBT toNumberNBT (JsonPrimitive number) {
+        
+        final BigDecimal value = number.getAsBigDecimal();
+        
+        try {
+            
+            final long longValue = value.longValueExact();
+            return (int) longValue == longValue ? IntNBT.valueOf((int) longValue) : LongNBT.valueOf(longValue);
+        }
+        
+        catch (final ArithmeticException e) {
+            
+            return DoubleNBT.valueOf(value.doubleValue());
+        }
+    }
+    
+    private static CompoundNBT toRawJson (JsonElement json) {
+        
+        final CompoundNBT tag = new CompoundNBT();
+        tag.putString(RAW_JSON, json.toString());
+        return tag;
+    }
+}
@@ -0,0 +1,99 @@
+package net.darkhax.bookshelf.serialization;
+
+import net.minecraft.network.PacketBuffer;
+
+/**
+ * The different wire formats that an {@link ISerializer} can use when reading and writing
+ * packets. Both sides of a connection must use the same format, so packets that need to
+ * support more than one format should write the format first using {@link #write(PacketBuffer)}.
+ */
+public enum PacketFormat {
+    
+    /**
+     * The original format. Collection sizes are written as full ints and values use their
+     * default packet encoding.
+     */
+    LEGACY(0),
+    
+    /**
+     * A smaller format. Collection sizes are written as var ints, and serializers may use a
+     * more compact encoding such as var int ids for block states and registry entries.
+     */
+    COMPACT(1);
+    
+    /**
+     * The id of the format when written to a packet.
+     */
+    private final int id;
+    
+    PacketFormat(int id) {
+        
+        this.id = id;
+    }
+    
+    public int getId () {
+        
+        return this.id;
+    }
+    
+    /**
+     * Writes the size of a collection using this format.
+     *
+     * @param buffer The buffer to write to.
+     * @param size The size to write.
+     */
+    public void writeSize (PacketBuffer buffer, int size) {
+        
+        if (this == COMPACT) {
+            
+            buffer.writeVarInt(size);
+        }
+        
+        else {
+            
+            buffer.writeInt(size);
+        }
+    }
+    
+    /**
+     * Reads the size of a collection using this format.
+     *
+     * @param buffer The buffer to read from.
+     * @return The size that was read.
+     */
+    public int readSize (PacketBuffer buffer) {
+        
+        return this == COMPACT ? buffer.readVarInt() : buffer.readInt();
+    }
+    
+    /**
+     * Writes the id of this format to a packet.
+     *
+     * @param buffer The buffer to write to.
+     */
+    public void write (PacketBuffer buffer) {
+        
+        buffer.writeByte(this.id);
+    }
+    
+    /**
+     * Reads a format from a packet.
+     *
+     * @param buffer The buffer to read from.
+     * @return The format that was read.
+     */
+    public static PacketFormat read (PacketBuffer buffer) {
+        
+        final int id = buffer.readByte();
+        
+        for (final PacketFormat format : PacketFormat.values()) {
+            
+            if (format.id == id) {
+                
+                return format;
+            }
+        }
+        
+        throw new IllegalStateException("Unknown packet format " + id);
+    }
+}
\ No newline at end of file
@@ -1,5 +1,8 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 
@@ -7,6 +10,9 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import net.darkhax.bookshelf.Bookshelf;
 import net.minecraft.block.Block;
@@ -42,6 +48,11 @@ public class SerializerBlockState implements ISerializer<BlockState> {
                 
                 final JsonElement properties = obj.get("properties");
                 
+                if (!properties.isJsonObject()) {
+                    
+                    throw new JsonParseException("Expected properties to be an object. Recieved " + JSONUtils.getType(properties));
+                }
+                
                 for (final Entry<String, JsonElement> property : properties.getAsJsonObject().entrySet()) {
                     
                     state = this.readProperty(state, property.getKey(), property.getValue());
@@ -87,6 +98,129 @@ public class SerializerBlockState implements ISerializer<BlockState> {
         return json;
     }
     
+    @Override
+    public BlockState read (JsonReader reader) throws IOException {
+        
+        if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+            
+            BlockState state = null;
+            
+            // Properties can only be applied once the block is known. They are held here
+            // when the properties come before the block in the JSON.
+            Map<String, String> pending = null;
+            
+            reader.beginObject();
+            
+            while (reader.hasNext()) {
+                
+                final String name = reader.nextName();
+                
+                if ("block".equals(name)) {
+                    
+                    state = Serializers.BLOCK.read(reader).defaultBlockState();
+                    
+                    if (pending != null) {
+                        
+                        for (final Entry<String, String> property : pending.entrySet()) {
+                            
+                            state = this.readProperty(state, property.getKey(), property.getValue());
+                        }
+                        
+                        pending = null;
+                    }
+                }
+                
+                else if ("properties".equals(name)) {
+                    
+                    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                        
+                        throw new JsonParseException("Expected properties to be an object. Recieved " + reader.peek());
+                    }
+                    
+                    reader.beginObject();
+                    
+                    while (reader.hasNext()) {
+                        
+                        final String propName = reader.nextName();
+                        final JsonToken valueToken = reader.peek();
+                        
+                        if (valueToken != JsonToken.STRING && valueToken != JsonToken.NUMBER && valueToken != JsonToken.BOOLEAN) {
+                            
+                            throw new JsonSyntaxException("Expected property value for " + propName + " to be primitive string. Got " + valueToken);
+                        }
+                        
+                        final String valueString = valueToken == JsonToken.BOOLEAN ? Boolean.toString(reader.nextBoolean()) : reader.nextString();
+                        
+                        if (state != null) {
+                            
+                            state = this.readProperty(state, propName, valueString);
+                        }
+                        
+                        else {
+                            
+                            if (pending == null) {
+                                
+                                pending = new LinkedHashMap<>();
+                            }
+                            
+                            pending.put(propName, valueString);
+                        }
+                    }
+                    
+                    reader.endObject();
+                }
+                
+                else {
+                    
+                    reader.skipValue();
+                }
+            }
+            
+            reader.endObject();
+            
+            if (state == null) {
+                
+                throw new JsonParseException("Expected member block was not found.");
+            }
+            
+            return state;
+        }
+        
+        throw new JsonParseException("Expected properties to be an object. Recieved " + reader.peek());
+    }
+    
+    @Override
+    public void write (JsonWriter writer, BlockState toWrite) throws IOException {
+        
+        writer.beginObject();
+        writer.name("block");
+        Serializers.BLOCK.write(writer, toWrite.getBlock());
+        writer.name("properties").beginObject();
+        
+        for (final Property prop : toWrite.getProperties()) {
+            
+            writer.name(prop.getName());
+            
+            if (prop instanceof IntegerProperty) {
+                
+                writer.value((int) toWrite.getValue((IntegerProperty) prop));
+            }
+            
+            else if (prop instanceof BooleanProperty) {
+                
+                writer.value((boolean) toWrite.getValue((BooleanProperty) prop));
+            }
+            
+            else {
+                
+                writer.value(prop.getName(toWrite.getValue(prop)));
+            }
+        }
+        
+        writer.endObject();
+        writer.endObject();
+    }
+    
     @Override
     public BlockState read (PacketBuffer buffer) {
         
@@ -99,41 +233,65 @@ public class SerializerBlockState implements ISerializer<BlockState> {
         buffer.writeInt(Block.getId(toWrite));
     }
     
+    @Override
+    public BlockState read (PacketBuffer buffer, PacketFormat format) {
+        
+        return format == PacketFormat.COMPACT ? Block.stateById(buffer.readVarInt()) : this.read(buffer);
+    }
+    
+    @Override
+    public void write (PacketBuffer buffer, BlockState toWrite, PacketFormat format) {
+        
+        if (format == PacketFormat.COMPACT) {
+            
+            buffer.writeVarInt(Block.getId(toWrite));
+        }
+        
+        else {
+            
+            this.write(buffer, toWrite);
+        }
+    }
+    
     private BlockState readProperty (BlockState state, String propName, JsonElement propValue) {
         
+        if (propValue.isJsonPrimitive()) {
+            
+            return this.readProperty(state, propName, propValue.getAsString());
+        }
+        
+        else {
+            
+            throw new JsonSyntaxException("Expected property value for " + propName + " to be primitive string. Got " + JSONUtils.getType(propValue));
+        }
+    }
+    
+    private BlockState readProperty (BlockState state, String propName, String valueString) {
+        
         final Property blockProperty = state.getBlock().getStateDefinition().getProperty(propName);
         
         if (blockProperty != null) {
             
-            if (propValue.isJsonPrimitive()) {
-                
-                final String valueString = propValue.getAsString();
-                final Optional<Comparable> parsedValue = blockProperty.getValue(valueString);
+            final Optional<Comparable> parsedValue = blockProperty.getValue(valueString);
+            
+            if (parsedValue.isPresent()) {
                 
-                if (parsedValue.isPresent()) {
+                try {
                     
-                    try {
-                        
-                        return state.setValue(blockProperty, parsedValue.get());
-                    }
-                    
-                    catch (final Exception e) {
-                        
-                        Bookshelf.LOG.error("Failed to update state for block {}. The mod that adds this block may have an issue.", state.getBlock().getRegistryName());
-                        Bookshelf.LOG.catching(e);
-                        throw e;
-                    }
+                    return state.setValue(blockProperty, parsedValue.get());
                 }
                 
-                else {
+                catch (final Exception e) {
                     
-                    throw new JsonSyntaxException("The property " + propName + " with value " + valueString + " coul not be parsed!");
+                    Bookshelf.LOG.error("Failed to update state for block {}. The mod that adds this block may have an issue.", state.getBlock().getRegistryName());
+                    Bookshelf.LOG.catching(e);
+                    throw e;
                 }
             }
             
             else {
                 
-                throw new JsonSyntaxException("Expected property value for " + propName + " to be primitive string. Got " + JSONUtils.getType(propValue));
+                throw new JsonSyntaxException("The property " + propName + " with value " + valueString + " coul not be parsed!");
             }
         }
         
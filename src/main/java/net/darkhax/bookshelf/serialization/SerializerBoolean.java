@@ -1,7 +1,12 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.io.IOException;
+
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import net.minecraft.nbt.ByteNBT;
 import net.minecraft.nbt.INBT;
@@ -27,6 +32,23 @@ public final class SerializerBoolean implements ISerializer<Boolean> {
         return new JsonPrimitive(toWrite);
     }
     
+    @Override
+    public Boolean read (JsonReader reader) throws IOException {
+        
+        if (reader.peek() == JsonToken.STRING) {
+            
+            return Boolean.parseBoolean(reader.nextString());
+        }
+        
+        return reader.nextBoolean();
+    }
+    
+    @Override
+    public void write (JsonWriter writer, Boolean toWrite) throws IOException {
+        
+        writer.value(toWrite);
+    }
+    
     @Override
     public Boolean read (PacketBuffer buffer) {
         
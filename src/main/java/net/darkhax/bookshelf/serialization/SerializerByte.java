@@ -1,7 +1,11 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.io.IOException;
+
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import net.minecraft.nbt.ByteNBT;
 import net.minecraft.nbt.INBT;
@@ -28,6 +32,18 @@ public final class SerializerByte implements ISerializer<Byte> {
         return new JsonPrimitive(toWrite);
     }
     
+    @Override
+    public Byte read (JsonReader reader) throws IOException {
+        
+        return (byte) reader.nextInt();
+    }
+    
+    @Override
+    public void write (JsonWriter writer, Byte toWrite) throws IOException {
+        
+        writer.value(toWrite);
+    }
+    
     @Override
     public Byte read (PacketBuffer buffer) {
         
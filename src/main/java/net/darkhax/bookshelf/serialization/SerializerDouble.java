@@ -1,7 +1,11 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.io.IOException;
+
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import net.minecraft.nbt.DoubleNBT;
 import net.minecraft.nbt.INBT;
@@ -27,6 +31,18 @@ public final class SerializerDouble implements ISerializer<Double> {
         return new JsonPrimitive(toWrite);
     }
     
+    @Override
+    public Double read (JsonReader reader) throws IOException {
+        
+        return reader.nextDouble();
+    }
+    
+    @Override
+    public void write (JsonWriter writer, Double toWrite) throws IOException {
+        
+        writer.value(toWrite);
+    }
+    
     @Override
     public Double read (PacketBuffer buffer) {
         
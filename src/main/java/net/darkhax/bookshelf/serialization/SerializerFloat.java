@@ -1,7 +1,11 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.io.IOException;
+
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import net.minecraft.nbt.FloatNBT;
 import net.minecraft.nbt.INBT;
@@ -28,6 +32,18 @@ public final class SerializerFloat implements ISerializer<Float> {
         return new JsonPrimitive(toWrite);
     }
     
+    @Override
+    public Float read (JsonReader reader) throws IOException {
+        
+        return (float) reader.nextDouble();
+    }
+    
+    @Override
+    public void write (JsonWriter writer, Float toWrite) throws IOException {
+        
+        writer.value(toWrite);
+    }
+    
     @Override
     public Float read (PacketBuffer buffer) {
         
@@ -1,11 +1,18 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import net.minecraft.nbt.INBT;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.registries.ForgeRegistry;
 import net.minecraftforge.registries.IForgeRegistry;
 import net.minecraftforge.registries.IForgeRegistryEntry;
 
@@ -13,9 +20,30 @@ public final class SerializerForgeRegistry<V extends IForgeRegistryEntry<V>> imp
     
     private final IForgeRegistry<V> registry;
     
+    /**
+     * The registry as a ForgeRegistry, which allows entries to be accessed by their numeric
+     * id. This is null when numeric ids should not be used.
+     */
+    @Nullable
+    private final ForgeRegistry<V> networkRegistry;
+    
     public SerializerForgeRegistry(IForgeRegistry<V> registry) {
         
+        this(registry, true);
+    }
+    
+    /**
+     * Creates a serializer for a forge registry.
+     *
+     * @param registry The registry to serialize entries from.
+     * @param networkIds Whether or not the registry has numeric ids that are synced to the
+     *        client. When true the {@link PacketFormat#COMPACT} format will write the numeric
+     *        id of the entry as a var int. Otherwise the full registry name is written.
+     */
+    public SerializerForgeRegistry(IForgeRegistry<V> registry, boolean networkIds) {
+        
         this.registry = registry;
+        this.networkRegistry = networkIds && registry instanceof ForgeRegistry ? (ForgeRegistry<V>) registry : null;
     }
     
     @Override
@@ -31,6 +59,19 @@ public final class SerializerForgeRegistry<V extends IForgeRegistryEntry<V>> imp
         return Serializers.RESOURCE_LOCATION.write(toWrite.getRegistryName());
     }
     
+    @Override
+    public V read (JsonReader reader) throws IOException {
+        
+        final ResourceLocation id = Serializers.RESOURCE_LOCATION.read(reader);
+        return this.getFromId(id);
+    }
+    
+    @Override
+    public void write (JsonWriter writer, V toWrite) throws IOException {
+        
+        Serializers.RESOURCE_LOCATION.write(writer, toWrite.getRegistryName());
+    }
+    
     @Override
     public V read (PacketBuffer buffer) {
         
@@ -44,6 +85,41 @@ public final class SerializerForgeRegistry<V extends IForgeRegistryEntry<V>> imp
         buffer.writeResourceLocation(toWrite.getRegistryName());
     }
     
+    @Override
+    public V read (PacketBuffer buffer, PacketFormat format) {
+        
+        if (format == PacketFormat.COMPACT && this.networkRegistry != null) {
+            
+            final int id = buffer.readVarInt();
+            final V value = this.networkRegistry.getValue(id);
+            
+            // Registries with a default value return it for unknown ids, so the id of the
+            // value is checked to make sure it is the requested entry.
+            if (value == null || this.networkRegistry.getID(value) != id) {
+                
+                throw new IllegalStateException("Could not find " + this.registry.getRegistryName().toString() + " with numeric ID " + id);
+            }
+            
+            return value;
+        }
+        
+        return this.read(buffer);
+    }
+    
+    @Override
+    public void write (PacketBuffer buffer, V toWrite, PacketFormat format) {
+        
+        if (format == PacketFormat.COMPACT && this.networkRegistry != null) {
+            
+            buffer.writeVarInt(this.networkRegistry.getID(toWrite));
+        }
+        
+        else {
+            
+            this.write(buffer, toWrite);
+        }
+    }
+    
     @Override
     public INBT writeNBT (V toWrite) {
         
@@ -59,9 +135,13 @@ public final class SerializerForgeRegistry<V extends IForgeRegistryEntry<V>> imp
     
     private final V getFromId (ResourceLocation id) {
         
-        if (this.registry.containsKey(id)) {
+        final V value = this.registry.getValue(id);
+        
+        // Registries with a default value return it for unknown ids, so the name is checked
+        // before falling back to the slower containsKey lookup.
+        if (value != null && (id.equals(value.getRegistryName()) || this.registry.containsKey(id))) {
             
-            return this.registry.getValue(id);
+            return value;
         }
         
         throw new JsonParseException("Could not find " + this.registry.getRegistryName().toString() + " with ID " + id.toString());
@@ -1,27 +1,61 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 
+import com.google.common.collect.MapMaker;
 import com.google.gson.JsonElement;
 
+import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.StringNBT;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.tags.ITag.INamedTag;
 import net.minecraft.util.ResourceLocation;
 
 public class SerializerINamedTag<T> implements ISerializer<INamedTag<T>> {
     
+    /**
+     * All tag serializers that have been created. This is used to clear their caches when
+     * tags are reloaded.
+     */
+    private static final List<SerializerINamedTag<?>> SERIALIZERS = new CopyOnWriteArrayList<>();
+    
     private final Function<ResourceLocation, INamedTag<T>> builder;
     
+    /**
+     * A cache of tags that have been read by this serializer, keyed by the string form of
+     * their id. This allows every reference to the same tag to share one tag and one parsed
+     * id.
+     */
+    private final Map<String, INamedTag<T>> cache;
+    
     public SerializerINamedTag(Function<ResourceLocation, INamedTag<T>> builder) {
         
+        this(builder, false);
+    }
+    
+    /**
+     * Creates a new tag serializer.
+     *
+     * @param builder A function that creates a tag from its id.
+     * @param weakValues Whether or not the cache should only hold weak references to the
+     *        tags. This allows tags that are no longer used to be garbage collected.
+     */
+    public SerializerINamedTag(Function<ResourceLocation, INamedTag<T>> builder, boolean weakValues) {
+        
         this.builder = builder;
+        this.cache = weakValues ? new MapMaker().weakValues().makeMap() : new ConcurrentHashMap<>();
+        SERIALIZERS.add(this);
     }
     
     @Override
     public INamedTag<T> read (JsonElement json) {
         
-        final ResourceLocation id = Serializers.RESOURCE_LOCATION.read(json);
-        return this.builder.apply(id);
+        final INamedTag<T> cached = json.isJsonPrimitive() ? this.cache.get(json.getAsString()) : null;
+        return cached != null ? cached : this.getTag(Serializers.RESOURCE_LOCATION.read(json));
     }
     
     @Override
@@ -33,8 +67,9 @@ public class SerializerINamedTag<T> implements ISerializer<INamedTag<T>> {
     @Override
     public INamedTag<T> read (PacketBuffer buffer) {
         
-        final ResourceLocation id = Serializers.RESOURCE_LOCATION.read(buffer);
-        return this.builder.apply(id);
+        final String idString = buffer.readUtf(32767);
+        final INamedTag<T> cached = this.cache.get(idString);
+        return cached != null ? cached : this.getTag(new ResourceLocation(idString));
     }
     
     @Override
@@ -42,4 +77,45 @@ public class SerializerINamedTag<T> implements ISerializer<INamedTag<T>> {
         
         Serializers.RESOURCE_LOCATION.write(buffer, toWrite.getName());
     }
+    
+    @Override
+    public INBT writeNBT (INamedTag<T> toWrite) {
+        
+        return Serializers.RESOURCE_LOCATION.writeNBT(toWrite.getName());
+    }
+    
+    @Override
+    public INamedTag<T> read (INBT nbt) {
+        
+        final INamedTag<T> cached = nbt instanceof StringNBT ? this.cache.get(nbt.getAsString()) : null;
+        return cached != null ? cached : this.getTag(Serializers.RESOURCE_LOCATION.read(nbt));
+    }
+    
+    /**
+     * Gets the shared tag for an id, creating it if it has not been cached yet.
+     *
+     * @param id The id of the tag.
+     * @return The shared tag for the id.
+     */
+    public INamedTag<T> getTag (ResourceLocation id) {
+        
+        return this.cache.computeIfAbsent(id.toString(), key -> this.builder.apply(id));
+    }
+    
+    /**
+     * Clears the tag cache of this serializer.
+     */
+    public void clearCache () {
+        
+        this.cache.clear();
+    }
+    
+    /**
+     * Clears the tag caches of every tag serializer. This is done automatically when tags are
+     * reloaded.
+     */
+    public static void clearCaches () {
+        
+        SERIALIZERS.forEach(SerializerINamedTag::clearCache);
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package net.darkhax.bookshelf.serialization;
 import com.google.gson.JsonElement;
 
 import net.minecraft.item.crafting.Ingredient;
+import net.minecraft.nbt.INBT;
 import net.minecraft.network.PacketBuffer;
 
 public class SerializerIngredient implements ISerializer<Ingredient> {
@@ -36,4 +37,16 @@ public class SerializerIngredient implements ISerializer<Ingredient> {
         
         toWrite.toNetwork(buffer);
     }
+    
+    @Override
+    public INBT writeNBT (Ingredient toWrite) {
+        
+        return JsonNBT.toNBT(toWrite.toJson());
+    }
+    
+    @Override
+    public Ingredient read (INBT nbt) {
+        
+        return this.read(JsonNBT.fromNBT(nbt));
+    }
 }
\ No newline at end of file
@@ -1,7 +1,11 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.io.IOException;
+
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import net.minecraft.nbt.INBT;
 import net.minecraft.nbt.IntNBT;
@@ -28,6 +32,18 @@ public final class SerializerInteger implements ISerializer<Integer> {
         return new JsonPrimitive(toWrite);
     }
     
+    @Override
+    public Integer read (JsonReader reader) throws IOException {
+        
+        return reader.nextInt();
+    }
+    
+    @Override
+    public void write (JsonWriter writer, Integer toWrite) throws IOException {
+        
+        writer.value(toWrite);
+    }
+    
     @Override
     public Integer read (PacketBuffer buffer) {
         
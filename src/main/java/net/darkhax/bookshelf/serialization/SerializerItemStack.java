@@ -1,8 +1,11 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.io.IOException;
+
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
 
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.ShapedRecipe;
@@ -51,6 +54,23 @@ public class SerializerItemStack implements ISerializer<ItemStack> {
         return json;
     }
     
+    @Override
+    public void write (JsonWriter writer, ItemStack toWrite) throws IOException {
+        
+        writer.beginObject();
+        writer.name("item");
+        Serializers.ITEM.write(writer, toWrite.getItem());
+        writer.name("count").value(toWrite.getCount());
+        
+        if (toWrite.hasTag()) {
+            
+            writer.name("nbt");
+            Serializers.NBT.write(writer, toWrite.getTag());
+        }
+        
+        writer.endObject();
+    }
+    
     @Override
     public ItemStack read (PacketBuffer buffer) {
         
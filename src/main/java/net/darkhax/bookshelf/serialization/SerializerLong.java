@@ -1,7 +1,11 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.io.IOException;
+
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import net.minecraft.nbt.INBT;
 import net.minecraft.nbt.LongNBT;
@@ -28,6 +32,18 @@ public final class SerializerLong implements ISerializer<Long> {
         return new JsonPrimitive(toWrite);
     }
     
+    @Override
+    public Long read (JsonReader reader) throws IOException {
+        
+        return reader.nextLong();
+    }
+    
+    @Override
+    public void write (JsonWriter writer, Long toWrite) throws IOException {
+        
+        writer.value(toWrite);
+    }
+    
     @Override
     public Long read (PacketBuffer buffer) {
         
@@ -0,0 +1,505 @@
+package net.darkhax.bookshelf.serialization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.JSONUtils;
+
+/**
+ * A serializer for objects made up of several named fields, each of which is handled by
+ * another serializer. The fields are compiled into a flat array when the serializer is built,
+ * and every format simply walks that array in order. New record serializers can be created
+ * using {@link Serializers#record()}.
+ *
+ * Each field added to the builder returns a typed {@link Key}, which the factory uses to get
+ * the value of that field. Reading a record allocates a small array holding the field values,
+ * so this is not faster than a hand written serializer. The benefit is that each field is only
+ * described once for every format.
+ *
+ * @param <T> The type of object to serialize.
+ */
+public final class SerializerRecord<T> implements ISerializer<T> {
+    
+    /**
+     * The fields of the record, in the order they are written.
+     */
+    private final Field<T>[] fields;
+    
+    /**
+     * A factory that creates the object from the values of each field.
+     */
+    private final Function<Values, T> factory;
+    
+    /**
+     * The builder that created this serializer. Keys from other builders are rejected.
+     */
+    private final Builder<T> owner;
+    
+    private SerializerRecord(Field<T>[] fields, Function<Values, T> factory, Builder<T> owner) {
+        
+        this.fields = fields;
+        this.factory = factory;
+        this.owner = owner;
+    }
+    
+    @Override
+    public T read (JsonElement json) {
+        
+        if (json.isJsonObject()) {
+            
+            final JsonObject obj = json.getAsJsonObject();
+            final Object[] values = new Object[this.fields.length];
+            
+            for (int i = 0; i < values.length; i++) {
+                
+                values[i] = this.fields[i].read(obj);
+            }
+            
+            return this.factory.apply(new Values(this.owner, values));
+        }
+        
+        throw new JsonParseException("Expected record to be a JSON object. Recieved " + JSONUtils.getType(json));
+    }
+    
+    @Override
+    public JsonElement write (T toWrite) {
+        
+        final JsonObject json = new JsonObject();
+        
+        for (final Field<T> field : this.fields) {
+            
+            field.write(json, toWrite);
+        }
+        
+        return json;
+    }
+    
+    @Override
+    public T read (PacketBuffer buffer) {
+        
+        return this.read(buffer, PacketFormat.LEGACY);
+    }
+    
+    @Override
+    public void write (PacketBuffer buffer, T toWrite) {
+        
+        this.write(buffer, toWrite, PacketFormat.LEGACY);
+    }
+    
+    @Override
+    public T read (PacketBuffer buffer, PacketFormat format) {
+        
+        final Object[] values = new Object[this.fields.length];
+        
+        for (int i = 0; i < values.length; i++) {
+            
+            values[i] = this.fields[i].read(buffer, format);
+        }
+        
+        return this.factory.apply(new Values(this.owner, values));
+    }
+    
+    @Override
+    public void write (PacketBuffer buffer, T toWrite, PacketFormat format) {
+        
+        for (final Field<T> field : this.fields) {
+            
+            field.write(buffer, toWrite, format);
+        }
+    }
+    
+    @Override
+    public INBT writeNBT (T toWrite) {
+        
+        final CompoundNBT tag = new CompoundNBT();
+        
+        for (final Field<T> field : this.fields) {
+            
+            field.write(tag, toWrite);
+        }
+        
+        return tag;
+    }
+    
+    @Override
+    public T read (INBT nbt) {
+        
+        if (nbt instanceof CompoundNBT) {
+            
+            final CompoundNBT tag = (CompoundNBT) nbt;
+            final Object[] values = new Object[this.fields.length];
+            
+            for (int i = 0; i < values.length; i++) {
+                
+                values[i] = this.fields[i].read(tag);
+            }
+            
+            return this.factory.apply(new Values(this.owner, values));
+        }
+        
+        throw new IllegalArgumentException("Expected NBT to be a compound tag. Class was " + nbt.getClass() + " with ID " + nbt.getId() + " instead.");
+    }
+    
+    /**
+     * Provides the values that were read for each field of a record.
+     */
+    public static final class Values {
+        
+        private final Builder<?> owner;
+        private final Object[] values;
+        
+        private Values(Builder<?> owner, Object[] values) {
+            
+            this.owner = owner;
+            this.values = values;
+        }
+        
+        /**
+         * Gets the value of a field.
+         *
+         * @param <V> The type of the value.
+         * @param key The key that was returned when the field was added to the builder.
+         * @return The value of the field.
+         */
+        @SuppressWarnings("unchecked")
+        public <V> V get (Key<V> key) {
+            
+            if (key.owner != this.owner) {
+                
+                throw new IllegalArgumentException("The key for field " + key.name + " belongs to a different record.");
+            }
+            
+            return (V) this.values[key.index];
+        }
+    }
+    
+    /**
+     * A typed handle to a field of a record. Keys are created by adding fields to a
+     * {@link Builder} and can only be used with the record that builder creates.
+     *
+     * @param <V> The type of the field's value.
+     */
+    public static final class Key<V> {
+        
+        private final Builder<?> owner;
+        private final String name;
+        private final int index;
+        
+        private Key(Builder<?> owner, String name, int index) {
+            
+            this.owner = owner;
+            this.name = name;
+            this.index = index;
+        }
+    }
+    
+    /**
+     * Builds a new record serializer. Fields are read and written in the order they are added.
+     * Once the serializer is built no more fields can be added.
+     *
+     * @param <T> The type of object to serialize.
+     */
+    public static final class Builder<T> {
+        
+        private final List<Field<T>> fields = new ArrayList<>();
+        private boolean built;
+        
+        Builder() {
+            
+        }
+        
+        /**
+         * Adds a required field to the record.
+         *
+         * @param name The name of the field in JSON and NBT.
+         * @param serializer The serializer for the field.
+         * @param getter A function that gets the value of the field from the object.
+         * @return The key for the field.
+         */
+        public <F> Key<F> field (String name, ISerializer<F> serializer, Function<T, F> getter) {
+            
+            return this.field(name, serializer, getter, null);
+        }
+        
+        /**
+         * Adds a field with a fallback value to the record. The fallback is used when the
+         * field is missing from JSON or NBT.
+         *
+         * @param name The name of the field in JSON and NBT.
+         * @param serializer The serializer for the field.
+         * @param getter A function that gets the value of the field from the object.
+         * @param fallback The value to use when the field is missing.
+         * @return The key for the field.
+         */
+        public <F> Key<F> field (String name, ISerializer<F> serializer, Function<T, F> getter, @Nullable F fallback) {
+            
+            return this.add(new ValueField<>(name, serializer, getter, fallback));
+        }
+        
+        /**
+         * Adds an optional field to the record. The field is left out of JSON and NBT when
+         * the value is not present.
+         *
+         * @param name The name of the field in JSON and NBT.
+         * @param serializer The serializer for the field.
+         * @param getter A function that gets the optional value of the field from the object.
+         * @return The key for the field.
+         */
+        public <F> Key<Optional<F>> optional (String name, ISerializer<F> serializer, Function<T, Optional<F>> getter) {
+            
+            return this.add(new OptionalField<>(name, serializer, getter));
+        }
+        
+        /**
+         * Adds a field which is written as part of the record's JSON object rather than as a
+         * member of it. The serializer for the field must write JSON objects. In NBT the field
+         * is written under its name like any other field.
+         *
+         * @param name The name of the field in NBT.
+         * @param serializer The serializer for the field.
+         * @param getter A function that gets the value of the field from the object.
+         * @return The key for the field.
+         */
+        public <F> Key<F> inline (String name, ISerializer<F> serializer, Function<T, F> getter) {
+            
+            return this.add(new InlineField<>(name, serializer, getter));
+        }
+        
+        /**
+         * Compiles the fields into a new record serializer.
+         *
+         * @param factory A factory that creates the object from the values of each field.
+         * @return The new record serializer.
+         */
+        @SuppressWarnings("unchecked")
+        public SerializerRecord<T> build (Function<Values, T> factory) {
+            
+            this.checkNotBuilt();
+            
+            if (this.fields.isEmpty()) {
+                
+                throw new IllegalStateException("A record serializer must have at least one field.");
+            }
+            
+            this.built = true;
+            return new SerializerRecord<>(this.fields.toArray(new Field[0]), factory, this);
+        }
+        
+        private <F> Key<F> add (Field<T> field) {
+            
+            this.checkNotBuilt();
+            
+            for (final Field<T> existing : this.fields) {
+                
+                if (existing.name.equals(field.name)) {
+                    
+                    throw new IllegalArgumentException("The record already has a field named " + field.name);
+                }
+            }
+            
+            this.fields.add(field);
+            return new Key<>(this, field.name, this.fields.size() - 1);
+        }
+        
+        private void checkNotBuilt () {
+            
+            if (this.built) {
+                
+                throw new IllegalStateException("Fields can not be changed after the record serializer is built.");
+            }
+        }
+    }
+    
+    private static abstract class Field<T> {
+        
+        protected final String name;
+        
+        protected Field(String name) {
+            
+            this.name = name;
+        }
+        
+        abstract Object read (JsonObject json);
+        
+        abstract void write (JsonObject json, T record);
+        
+        abstract Object read (PacketBuffer buffer, PacketFormat format);
+        
+        abstract void write (PacketBuffer buffer, T record, PacketFormat format);
+        
+        abstract Object read (CompoundNBT tag);
+        
+        abstract void write (CompoundNBT tag, T record);
+    }
+    
+    private static class ValueField<T, F> extends Field<T> {
+        
+        protected final ISerializer<F> serializer;
+        protected final Function<T, F> getter;
+        
+        @Nullable
+        private final F fallback;
+        
+        private ValueField(String name, ISerializer<F> serializer, Function<T, F> getter, @Nullable F fallback) {
+            
+            super(name);
+            this.serializer = serializer;
+            this.getter = getter;
+            this.fallback = fallback;
+        }
+        
+        @Override
+        Object read (JsonObject json) {
+            
+            final JsonElement element = json.get(this.name);
+            
+            if (element != null) {
+                
+                return this.serializer.read(element);
+            }
+            
+            else if (this.fallback != null) {
+                
+                return this.fallback;
+            }
+            
+            throw new JsonParseException("Expected member " + this.name + " was not found.");
+        }
+        
+        @Override
+        void write (JsonObject json, T record) {
+            
+            json.add(this.name, this.serializer.write(this.getter.apply(record)));
+        }
+        
+        @Override
+        Object read (PacketBuffer buffer, PacketFormat format) {
+            
+            return this.serializer.read(buffer, format);
+        }
+        
+        @Override
+        void write (PacketBuffer buffer, T record, PacketFormat format) {
+            
+            this.serializer.write(buffer, this.getter.apply(record), format);
+        }
+        
+        @Override
+        Object read (CompoundNBT tag) {
+            
+            final INBT nbt = tag.get(this.name);
+            
+            if (nbt != null) {
+                
+                return this.serializer.read(nbt);
+            }
+            
+            else if (this.fallback != null) {
+                
+                return this.fallback;
+            }
+            
+            throw new IllegalArgumentException("Expected tag " + this.name + " was not found.");
+        }
+        
+        @Override
+        void write (CompoundNBT tag, T record) {
+            
+            tag.put(this.name, this.serializer.writeNBT(this.getter.apply(record)));
+        }
+    }
+    
+    private static final class InlineField<T, F> extends ValueField<T, F> {
+        
+        private InlineField(String name, ISerializer<F> serializer, Function<T, F> getter) {
+            
+            super(name, serializer, getter, null);
+        }
+        
+        @Override
+        Object read (JsonObject json) {
+            
+            return this.serializer.read(json);
+        }
+        
+        @Override
+        void write (JsonObject json, T record) {
+            
+            final JsonElement element = this.serializer.write(this.getter.apply(record));
+            
+            if (element.isJsonObject()) {
+                
+                for (final Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                    
+                    json.add(entry.getKey(), entry.getValue());
+                }
+            }
+            
+            else {
+                
+                throw new IllegalStateException("Inline field " + this.name + " must be written as a JSON object. Was " + JSONUtils.getType(element));
+            }
+        }
+    }
+    
+    private static final class OptionalField<T, F> extends Field<T> {
+        
+        private final ISerializer<F> serializer;
+        private final Function<T, Optional<F>> getter;
+        
+        private OptionalField(String name, ISerializer<F> serializer, Function<T, Optional<F>> getter) {
+            
+            super(name);
+            this.serializer = serializer;
+            this.getter = getter;
+        }
+        
+        @Override
+        Object read (JsonObject json) {
+            
+            return this.serializer.readOptional(json, this.name);
+        }
+        
+        @Override
+        void write (JsonObject json, T record) {
+            
+            this.serializer.writeOptional(json, this.name, this.getter.apply(record));
+        }
+        
+        @Override
+        Object read (PacketBuffer buffer, PacketFormat format) {
+            
+            return this.serializer.readOptional(buffer, format);
+        }
+        
+        @Override
+        void write (PacketBuffer buffer, T record, PacketFormat format) {
+            
+            this.serializer.writeOptional(buffer, this.getter.apply(record), format);
+        }
+        
+        @Override
+        Object read (CompoundNBT tag) {
+            
+            return tag.contains(this.name) ? Optional.of(this.serializer.read(tag.get(this.name))) : Optional.empty();
+        }
+        
+        @Override
+        void write (CompoundNBT tag, T record) {
+            
+            this.getter.apply(record).ifPresent(value -> tag.put(this.name, this.serializer.writeNBT(value)));
+        }
+    }
+}
\ No newline at end of file
@@ -1,9 +1,14 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.io.IOException;
+
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import net.minecraft.nbt.INBT;
 import net.minecraft.nbt.StringNBT;
@@ -50,6 +55,38 @@ public final class SerializerResourceLocation implements ISerializer<ResourceLoc
         return new JsonPrimitive(toWrite.toString());
     }
     
+    @Override
+    public ResourceLocation read (JsonReader reader) throws IOException {
+        
+        final JsonToken token = reader.peek();
+        
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            
+            final String string = reader.nextString();
+            
+            try {
+                
+                return new ResourceLocation(string);
+            }
+            
+            catch (final ResourceLocationException e) {
+                
+                throw new JsonParseException("Expected a valid resource location.", e);
+            }
+        }
+        
+        else {
+            
+            throw new JsonSyntaxException("Expected a string, was " + token);
+        }
+    }
+    
+    @Override
+    public void write (JsonWriter writer, ResourceLocation toWrite) throws IOException {
+        
+        writer.value(toWrite.toString());
+    }
+    
     @Override
     public ResourceLocation read (PacketBuffer buffer) {
         
@@ -1,7 +1,11 @@
 package net.darkhax.bookshelf.serialization;
 
+import java.io.IOException;
+
 import com.google.gson.JsonElement;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import net.minecraft.nbt.INBT;
 import net.minecraft.nbt.StringNBT;
@@ -27,6 +31,18 @@ public final class SerializerString implements ISerializer<String> {
         return new JsonPrimitive(toWrite);
     }
     
+    @Override
+    public String read (JsonReader reader) throws IOException {
+        
+        return reader.nextString();
+    }
+    
+    @Override
+    public void write (JsonWriter writer, String toWrite) throws IOException {
+        
+        writer.value(toWrite);
+    }
+    
     @Override
     public String read (PacketBuffer buffer) {
         
@@ -2,6 +2,8 @@ package net.darkhax.bookshelf.serialization;
 
 import com.google.gson.JsonElement;
 
+import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.StringNBT;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.text.ITextComponent;
 
@@ -33,4 +35,21 @@ public final class SerializerText implements ISerializer<ITextComponent> {
         
         buffer.writeUtf(ITextComponent.Serializer.toJson(toWrite));
     }
+    
+    @Override
+    public INBT writeNBT (ITextComponent toWrite) {
+        
+        return StringNBT.valueOf(ITextComponent.Serializer.toJson(toWrite));
+    }
+    
+    @Override
+    public ITextComponent read (INBT nbt) {
+        
+        if (nbt instanceof StringNBT) {
+            
+            return ITextComponent.Serializer.fromJson(((StringNBT) nbt).getAsString());
+        }
+        
+        throw new IllegalArgumentException("Expected NBT to be a string tag. Class was " + nbt.getClass() + " with ID " + nbt.getId() + " instead.");
+    }
 }
\ No newline at end of file
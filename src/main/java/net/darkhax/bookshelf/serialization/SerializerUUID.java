@@ -7,6 +7,8 @@ import com.google.gson.JsonPrimitive;
 
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.IntArrayNBT;
+import net.minecraft.nbt.NBTUtil;
 import net.minecraft.network.PacketBuffer;
 
 public final class SerializerUUID implements ISerializer<UUID> {
@@ -41,22 +43,46 @@ public final class SerializerUUID implements ISerializer<UUID> {
         buffer.writeUtf(toWrite.toString());
     }
     
+    @Override
+    public UUID read (PacketBuffer buffer, PacketFormat format) {
+        
+        return format == PacketFormat.COMPACT ? buffer.readUUID() : this.read(buffer);
+    }
+    
+    @Override
+    public void write (PacketBuffer buffer, UUID toWrite, PacketFormat format) {
+        
+        if (format == PacketFormat.COMPACT) {
+            
+            buffer.writeUUID(toWrite);
+        }
+        
+        else {
+            
+            this.write(buffer, toWrite);
+        }
+    }
+    
     @Override
     public INBT writeNBT (UUID toWrite) {
         
-        final CompoundNBT tag = new CompoundNBT();
-        tag.putUUID("id", toWrite);
-        return tag;
+        return NBTUtil.createUUID(toWrite);
     }
     
     @Override
     public UUID read (INBT nbt) {
         
-        if (nbt instanceof CompoundNBT) {
+        if (nbt instanceof IntArrayNBT) {
+            
+            return NBTUtil.loadUUID(nbt);
+        }
+        
+        // UUIDs were previously written as a compound tag.
+        else if (nbt instanceof CompoundNBT) {
             
             return ((CompoundNBT) nbt).getUUID("id");
         }
         
-        throw new IllegalArgumentException("Expected NBT to be a compund tag. Class was " + nbt.getClass() + " with ID " + nbt.getId() + " instead.");
+        throw new IllegalArgumentException("Expected NBT to be an int array tag. Class was " + nbt.getClass() + " with ID " + nbt.getId() + " instead.");
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import com.google.gson.JsonParseException;
 
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.LongArrayNBT;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.math.vector.Vector3d;
 
@@ -57,17 +58,26 @@ public class SerializerVec3d implements ISerializer<Vector3d> {
     @Override
     public INBT writeNBT (Vector3d toWrite) {
         
-        final CompoundNBT tag = new CompoundNBT();
-        tag.putDouble("x", toWrite.x());
-        tag.putDouble("y", toWrite.y());
-        tag.putDouble("z", toWrite.z());
-        return tag;
+        return new LongArrayNBT(new long[] { Double.doubleToLongBits(toWrite.x()), Double.doubleToLongBits(toWrite.y()), Double.doubleToLongBits(toWrite.z()) });
     }
     
     @Override
     public Vector3d read (INBT nbt) {
         
-        if (nbt instanceof CompoundNBT) {
+        if (nbt instanceof LongArrayNBT) {
+            
+            final long[] values = ((LongArrayNBT) nbt).getAsLongArray();
+            
+            if (values.length == 3) {
+                
+                return new Vector3d(Double.longBitsToDouble(values[0]), Double.longBitsToDouble(values[1]), Double.longBitsToDouble(values[2]));
+            }
+            
+            throw new IllegalArgumentException("Expected 3 elements, had " + values.length + " instead.");
+        }
+        
+        // Vectors were previously written as a compound tag.
+        else if (nbt instanceof CompoundNBT) {
             
             final CompoundNBT tag = (CompoundNBT) nbt;
             final double x = tag.getDouble("x");
@@ -76,6 +86,6 @@ public class SerializerVec3d implements ISerializer<Vector3d> {
             return new Vector3d(x, y, z);
         }
         
-        throw new IllegalArgumentException("Expected NBT to be a compound tag. Class was " + nbt.getClass() + " with ID " + nbt.getId() + " instead.");
+        throw new IllegalArgumentException("Expected NBT to be a long array tag. Class was " + nbt.getClass() + " with ID " + nbt.getId() + " instead.");
     }
 }
\ No newline at end of file
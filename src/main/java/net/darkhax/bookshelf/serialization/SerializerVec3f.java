@@ -9,6 +9,7 @@ import com.google.gson.JsonParseException;
 
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.IntArrayNBT;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.math.vector.Vector3f;
 
@@ -57,17 +58,26 @@ public class SerializerVec3f implements ISerializer<Vector3f> {
     @Override
     public INBT writeNBT (Vector3f toWrite) {
         
-        final CompoundNBT tag = new CompoundNBT();
-        tag.putFloat("x", toWrite.x());
-        tag.putFloat("y", toWrite.y());
-        tag.putFloat("z", toWrite.z());
-        return tag;
+        return new IntArrayNBT(new int[] { Float.floatToIntBits(toWrite.x()), Float.floatToIntBits(toWrite.y()), Float.floatToIntBits(toWrite.z()) });
     }
     
     @Override
     public Vector3f read (INBT nbt) {
         
-        if (nbt instanceof CompoundNBT) {
+        if (nbt instanceof IntArrayNBT) {
+            
+            final int[] values = ((IntArrayNBT) nbt).getAsIntArray();
+            
+            if (values.length == 3) {
+                
+                return new Vector3f(Float.intBitsToFloat(values[0]), Float.intBitsToFloat(values[1]), Float.intBitsToFloat(values[2]));
+            }
+            
+            throw new IllegalArgumentException("Expected 3 elements, had " + values.length + " instead.");
+        }
+        
+        // Vectors were previously written as a compound tag.
+        else if (nbt instanceof CompoundNBT) {
             
             final CompoundNBT tag = (CompoundNBT) nbt;
             final float x = tag.getFloat("x");
@@ -76,6 +86,6 @@ public class SerializerVec3f implements ISerializer<Vector3f> {
             return new Vector3f(x, y, z);
         }
         
-        throw new IllegalArgumentException("Expected NBT to be a compound tag. Class was " + nbt.getClass() + " with ID " + nbt.getId() + " instead.");
+        throw new IllegalArgumentException("Expected NBT to be an int array tag. Class was " + nbt.getClass() + " with ID " + nbt.getId() + " instead.");
     }
 }
\ No newline at end of file
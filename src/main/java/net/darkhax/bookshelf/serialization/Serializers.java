@@ -82,8 +82,20 @@ public class Serializers {
     public static final ISerializer<ContainerType<?>> CONTAINER = new SerializerForgeRegistry<>(ForgeRegistries.CONTAINERS);
     public static final ISerializer<PaintingType> PAINTING = new SerializerForgeRegistry<>(ForgeRegistries.PAINTING_TYPES);
     public static final ISerializer<IRecipeSerializer<?>> RECIPE_SERIALIZER = new SerializerForgeRegistry<>(ForgeRegistries.RECIPE_SERIALIZERS);
-    public static final ISerializer<Attribute> ATTRIBUTE = new SerializerForgeRegistry<>(ForgeRegistries.ATTRIBUTES);
+    public static final ISerializer<Attribute> ATTRIBUTE = new SerializerForgeRegistry<>(ForgeRegistries.ATTRIBUTES, false);
     public static final ISerializer<StatType<?>> STAT = new SerializerForgeRegistry<>(ForgeRegistries.STAT_TYPES);
     public static final ISerializer<VillagerProfession> PROFESSION = new SerializerForgeRegistry<>(ForgeRegistries.PROFESSIONS);
-    public static final ISerializer<PointOfInterestType> POINT_OF_INTEREST = new SerializerForgeRegistry<>(ForgeRegistries.POI_TYPES);
+    public static final ISerializer<PointOfInterestType> POINT_OF_INTEREST = new SerializerForgeRegistry<>(ForgeRegistries.POI_TYPES, false);
+    
+    /**
+     * Creates a builder for a new record serializer. Record serializers are made up of
+     * several named fields which are each handled by an existing serializer.
+     *
+     * @param <T> The type of object to serialize.
+     * @return A new record serializer builder.
+     */
+    public static <T> SerializerRecord.Builder<T> record () {
+        
+        return new SerializerRecord.Builder<>();
+    }
 }
\ No newline at end of file
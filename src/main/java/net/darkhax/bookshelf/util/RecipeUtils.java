@@ -7,15 +7,24 @@
  */
 package net.darkhax.bookshelf.util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.MapMaker;
+
+import net.darkhax.bookshelf.crafting.IPredicateIngredient;
+import net.darkhax.bookshelf.lib.TagGeneration;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.item.crafting.IRecipeType;
 import net.minecraft.item.crafting.Ingredient;
@@ -26,6 +35,12 @@ import net.minecraft.world.World;
 
 public final class RecipeUtils {
     
+    /**
+     * A cache of input indexes for each recipe manager. The recipe managers are weakly held so
+     * the client and integrated server can each keep their own indexes.
+     */
+    private static final Map<RecipeManager, Map<IRecipeType<?>, InputIndex<?>>> INPUT_INDICES = new MapMaker().weakKeys().makeMap();
+    
     /**
      * Looks up the map of all known recipes for a given recipe type.
      *
@@ -109,4 +124,174 @@ public final class RecipeUtils {
         
         return Ingredient.of(Arrays.stream(tags).flatMap(t -> t.getValues().stream()).toArray(Item[]::new));
     }
+    
+    /**
+     * Gets the recipes of a given type that could accept an input item. This includes recipes
+     * that have the item as one of their ingredients, and recipes with predicate only
+     * ingredients that can not be indexed ahead of time. This is much faster than checking
+     * every recipe of the type.
+     *
+     * @param <T> The type of the recipe.
+     * @param manager An instance of the recipe manager.
+     * @param recipeType The recipe type to look up.
+     * @param input The input stack.
+     * @return A list of recipes that could accept the input. This list should not be modified.
+     */
+    public static <T extends IRecipe<?>> List<T> getRecipesForInput (RecipeManager manager, IRecipeType<T> recipeType, ItemStack input) {
+        
+        return getInputIndex(manager, recipeType).getCandidates(input.getItem());
+    }
+    
+    /**
+     * Gets all recipes of a given type that match an inventory. Only the recipes that could
+     * accept the input stack are checked against the inventory.
+     *
+     * @param <C> The inventory type of the recipe.
+     * @param <T> The type of the recipe.
+     * @param world The world to read data from.
+     * @param recipeType The recipe type to look up.
+     * @param inventory The inventory to match recipes against.
+     * @param input The input stack used to narrow down the recipes.
+     * @return A list of recipes that match the inventory.
+     */
+    public static <C extends IInventory, T extends IRecipe<C>> List<T> getRecipesFor (World world, IRecipeType<T> recipeType, C inventory, ItemStack input) {
+        
+        final List<T> matches = new ArrayList<>();
+        
+        for (final T recipe : getRecipesForInput(world.getRecipeManager(), recipeType, input)) {
+            
+            if (recipe.matches(inventory, world)) {
+                
+                matches.add(recipe);
+            }
+        }
+        
+        return matches;
+    }
+    
+    /**
+     * Gets the input index for a recipe type. The index is rebuilt the first time it is used
+     * after recipes or tags are reloaded.
+     *
+     * @param <T> The type of the recipe.
+     * @param manager An instance of the recipe manager.
+     * @param recipeType The recipe type to look up.
+     * @return The input index for the recipe type.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends IRecipe<?>> InputIndex<T> getInputIndex (RecipeManager manager, IRecipeType<T> recipeType) {
+        
+        final Map<ResourceLocation, T> recipes = getRecipes(recipeType, manager);
+        final Map<IRecipeType<?>, InputIndex<?>> indices = INPUT_INDICES.computeIfAbsent(manager, key -> new ConcurrentHashMap<>());
+        InputIndex<T> index = (InputIndex<T>) indices.get(recipeType);
+        
+        // The recipe map is replaced when recipes are reloaded. Tag ingredients can change
+        // their items without a recipe reload, such as when the client receives new tags.
+        if (index == null || index.source != recipes || index.tagGeneration != TagGeneration.get()) {
+            
+            index = new InputIndex<>(recipes);
+            indices.put(recipeType, index);
+        }
+        
+        return index;
+    }
+    
+    /**
+     * Checks if an ingredient can only be resolved by testing stacks against it. Ingredients
+     * like this can not be indexed using {@link Ingredient#getItems()}. Ingredients can decide
+     * this themselves by implementing {@link IPredicateIngredient}.
+     *
+     * @param ingredient The ingredient to check.
+     * @return Whether or not the ingredient is predicate only.
+     */
+    public static boolean isPredicateOnly (Ingredient ingredient) {
+        
+        if (ingredient instanceof IPredicateIngredient) {
+            
+            return ((IPredicateIngredient) ingredient).isPredicateOnly();
+        }
+        
+        return !ingredient.isSimple() && ingredient.getItems().length == 0;
+    }
+    
+    /**
+     * A reverse index from items to the recipes that could accept them. Items are collected
+     * from the enumerable items of each ingredient. Recipes that have predicate only
+     * ingredients, or no ingredients at all, are considered candidates for every item.
+     *
+     * @param <T> The type of the recipe.
+     */
+    public static final class InputIndex<T extends IRecipe<?>> {
+        
+        private final Map<ResourceLocation, T> source;
+        private final Map<Item, List<T>> byItem = new IdentityHashMap<>();
+        private final List<T> predicateOnly = new ArrayList<>();
+        private final int tagGeneration;
+        
+        private InputIndex(Map<ResourceLocation, T> source) {
+            
+            this.source = source;
+            this.tagGeneration = TagGeneration.get();
+            
+            for (final T recipe : source.values()) {
+                
+                final Set<Item> items = Collections.newSetFromMap(new IdentityHashMap<>());
+                boolean predicateOnly = false;
+                
+                for (final Ingredient ingredient : recipe.getIngredients()) {
+                    
+                    if (isPredicateOnly(ingredient)) {
+                        
+                        predicateOnly = true;
+                        break;
+                    }
+                    
+                    for (final ItemStack stack : ingredient.getItems()) {
+                        
+                        items.add(stack.getItem());
+                    }
+                }
+                
+                if (predicateOnly || items.isEmpty()) {
+                    
+                    this.predicateOnly.add(recipe);
+                }
+                
+                else {
+                    
+                    for (final Item item : items) {
+                        
+                        this.byItem.computeIfAbsent(item, key -> new ArrayList<>()).add(recipe);
+                    }
+                }
+            }
+            
+            for (final List<T> candidates : this.byItem.values()) {
+                
+                candidates.addAll(this.predicateOnly);
+            }
+        }
+        
+        /**
+         * Gets the recipes that could accept a given item.
+         *
+         * @param item The item to look up.
+         * @return A list of recipes that could accept the item. This list should not be
+         *         modified.
+         */
+        public List<T> getCandidates (Item item) {
+            
+            return this.byItem.getOrDefault(item, this.predicateOnly);
+        }
+        
+        /**
+         * Gets the recipes that have to be checked for every item.
+         *
+         * @return A list of recipes with predicate only ingredients.
+         */
+        public List<T> getPredicateOnly () {
+            
+            return this.predicateOnly;
+        }
+    }
 }
\ No newline at end of file
@@ -9,17 +9,22 @@ package net.darkhax.bookshelf.util;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import net.darkhax.bookshelf.crafting.block.BlockIngredient;
+import net.darkhax.bookshelf.crafting.block.BlockRegionScanner;
+import net.darkhax.bookshelf.lib.SlimeChunkCache;
+import net.darkhax.bookshelf.lib.StructurePresenceCache;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.network.IPacket;
 import net.minecraft.util.Direction;
 import net.minecraft.util.IWorldPosCallable;
-import net.minecraft.util.SharedSeedRandom;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.IWorldReader;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.gen.feature.structure.Structure;
@@ -98,7 +103,8 @@ public final class WorldUtils {
     }
     
     /**
-     * Checks if a given position is within a slime chunk.
+     * Checks if a given position is within a slime chunk. The results are cached for each world
+     * by {@link SlimeChunkCache}.
      *
      * @param world The server world. Server is specifically needed as client doesn't have the
      *        seed.
@@ -107,7 +113,7 @@ public final class WorldUtils {
      */
     public static boolean isSlimeChunk (ServerWorld world, BlockPos pos) {
         
-        return SharedSeedRandom.seedSlimeChunk(pos.getX() >> 4, pos.getZ() >> 4, world.getSeed(), 987234911L).nextInt(10) == 0;
+        return SlimeChunkCache.get(world).isSlimeChunk(pos.getX() >> 4, pos.getZ() >> 4);
     }
     
     /**
@@ -159,7 +165,8 @@ public final class WorldUtils {
     }
     
     /**
-     * Checks if a given BlockPos is within the bounds of a structure.
+     * Checks if a given BlockPos is within the bounds of a structure. The structure starts
+     * near the position are cached by {@link StructurePresenceCache}.
      *
      * @param world The world to check within.
      * @param pos The position to check.
@@ -168,6 +175,22 @@ public final class WorldUtils {
      */
     public static boolean isInStructure (ServerWorld world, BlockPos pos, Structure<?> structure) {
         
-        return world.structureFeatureManager().getStructureAt(pos, true, structure).isValid();
+        return StructurePresenceCache.isInStructure(world, pos, structure);
+    }
+    
+    /**
+     * Scans all loaded blocks between two positions for blocks that match an ingredient. This
+     * is much faster than testing each position through the world. See
+     * {@link BlockRegionScanner} for more info.
+     *
+     * @param world The world to scan.
+     * @param from The first corner of the region.
+     * @param to The second corner of the region.
+     * @param ingredient The ingredient to test blocks against.
+     * @param consumer A consumer that receives the position of every matching block.
+     */
+    public static void scanRegion (IWorldReader world, BlockPos from, BlockPos to, BlockIngredient ingredient, Consumer<BlockPos> consumer) {
+        
+        BlockRegionScanner.scan(world, from, to, ingredient, consumer);
     }
 }
\ No newline at end of file